@@ -1,18 +1,119 @@
 package org.robotframework.formslibrary;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.robotframework.formslibrary.context.AlertWatcher;
+import org.robotframework.formslibrary.keyword.BatchKeywords;
+import org.robotframework.formslibrary.remote.ResultCompression;
+import org.robotframework.formslibrary.util.DebugUtil;
 import org.robotframework.swing.SwingLibrary;
 
 /**
  * Extend the default swinglibrary with keywords needed to work with oracle
- * forms.
+ * forms. The oracle forms keywords are not scanned at startup, but run through
+ * the keyword index which is generated at build time.
  */
 public class FormsLibrary extends SwingLibrary {
 
 	// TODO stop extending SwingLibrary, only include classes that are really
 	// needed?
 
+	/**
+	 * Named argument with which a client asks to append the keyword duration
+	 * to the output. The argument is removed before the keyword runs. Only
+	 * the XML-RPC client of FormsLibrary.py passes it, for its transport
+	 * statistics, so other remote clients never see the duration.
+	 */
+	public static final String REPORT_DURATION_ARGUMENT = "formslibrary-report-duration";
+
+	/**
+	 * Prefix of the last output line with the keyword duration in ms.
+	 */
+	public static final String DURATION_PREFIX = "formslibrary-duration:";
+
+	private final KeywordIndex keywordIndex;
+
 	public FormsLibrary() {
-		super("org/robotframework/formslibrary/keyword/*.class");
+		super();
+		keywordIndex = KeywordIndex.getInstance();
+		AlertWatcher.start();
+		BatchKeywords.setLibrary(this);
 	}
 
+	@Override
+	public String[] getKeywordNames() {
+		Set<String> names = new LinkedHashSet<String>(keywordIndex.getKeywordNames());
+		names.addAll(Arrays.asList(super.getKeywordNames()));
+		return names.toArray(new String[names.size()]);
+	}
+
+	@Override
+	public String[] getKeywordArguments(String keywordName) {
+		if (keywordIndex.hasKeyword(keywordName)) {
+			return keywordIndex.getKeywordArguments(keywordName);
+		}
+		return super.getKeywordArguments(keywordName);
+	}
+
+	@Override
+	public String getKeywordDocumentation(String keywordName) {
+		if (keywordIndex.hasKeyword(keywordName)) {
+			return keywordIndex.getKeywordDocumentation(keywordName);
+		}
+		return super.getKeywordDocumentation(keywordName);
+	}
+
+	@Override
+	public Object runKeyword(String keywordName, Object[] args) {
+		String previousKeyword = DebugUtil.getCurrentKeyword();
+		DebugUtil.setCurrentKeyword(keywordName);
+		try {
+			if (keywordIndex.hasKeyword(keywordName)) {
+				return compressResult(keywordIndex.runKeyword(keywordName, args, null), previousKeyword);
+			}
+			return compressResult(super.runKeyword(keywordName, args), previousKeyword);
+		} finally {
+			DebugUtil.setCurrentKeyword(previousKeyword);
+		}
+	}
+
+	@Override
+	public Object runKeyword(String keywordName, Object[] args, Map<String, Object> kwargs) {
+
+		if (kwargs != null && kwargs.containsKey(REPORT_DURATION_ARGUMENT)) {
+			Map<String, Object> keywordArguments = new LinkedHashMap<String, Object>(kwargs);
+			keywordArguments.remove(REPORT_DURATION_ARGUMENT);
+			long start = System.nanoTime();
+			try {
+				return keywordArguments.isEmpty() ? runKeyword(keywordName, args) : runKeyword(keywordName, args, keywordArguments);
+			} finally {
+				System.out.print("\n" + DURATION_PREFIX + String.format(Locale.ROOT, "%.3f", (System.nanoTime() - start) / 1000000.0));
+				System.out.flush();
+			}
+		}
+
+		String previousKeyword = DebugUtil.getCurrentKeyword();
+		DebugUtil.setCurrentKeyword(keywordName);
+		try {
+			if (keywordIndex.hasKeyword(keywordName)) {
+				return compressResult(keywordIndex.runKeyword(keywordName, args, kwargs), previousKeyword);
+			}
+			return compressResult(super.runKeyword(keywordName, args, kwargs), previousKeyword);
+		} finally {
+			DebugUtil.setCurrentKeyword(previousKeyword);
+		}
+	}
+
+	/**
+	 * Compress large results of the keywords called by robot. Results of
+	 * keywords called by other keywords are returned as they are.
+	 */
+	private Object compressResult(Object result, String callingKeyword) {
+		return callingKeyword == null ? ResultCompression.compress(result) : result;
+	}
 }
@@ -13,6 +13,9 @@ import org.robotframework.javalib.library.AnnotationLibrary;
  * documentation for the FormsLibrary keywords. When LibDoc is used to generate
  * documentation from FormsLibrary.py, FormsLibrary.py uses the generated file
  * as input.
+ *
+ * Optionally, it also writes the keyword index which FormsLibrary loads at
+ * startup instead of scanning the keyword classes.
  */
 public class KeywordGenerator {
 
@@ -27,10 +30,29 @@ public class KeywordGenerator {
 	public static void main(String[] args) {
 		KeywordGenerator generator = new KeywordGenerator();
 		String target = "keywords.py";
-		if (args.length == 1) {
+		if (args.length >= 1) {
 			target = args[0];
 		}
 		generator.generate(target);
+		if (args.length >= 2) {
+			generator.generateIndex(args[1]);
+		}
+	}
+
+	public void generateIndex(String target) {
+		try {
+			System.out.println("Generating keyword index...");
+
+			File outFile = new File(target);
+			outFile.getParentFile().mkdirs();
+			System.out.println("target: " + outFile.getCanonicalPath());
+			KeywordIndex.scan().write(outFile);
+
+			System.out.println("Keyword index written successfully");
+
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
 	}
 
 	public void generate(String target) {
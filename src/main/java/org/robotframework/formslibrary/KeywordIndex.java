@@ -0,0 +1,425 @@
+package org.robotframework.formslibrary;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+
+import org.robotframework.formslibrary.util.Logger;
+import org.robotframework.javalib.annotation.ArgumentNames;
+import org.robotframework.javalib.annotation.RobotKeyword;
+import org.robotframework.javalib.annotation.RobotKeywordOverload;
+import org.robotframework.javalib.annotation.RobotKeywords;
+
+/**
+ * Index of the FormsLibrary keywords: for every keyword method the keyword
+ * class, the parameter types and the argument names. The index is generated
+ * by the KeywordGenerator at build time, so the keyword classes don't have to
+ * be scanned when the library is started. Keyword classes are only loaded and
+ * instantiated when one of their keywords is run for the first time.
+ *
+ * When the index is not on the classpath, it is created by scanning the
+ * keyword package instead.
+ */
+public class KeywordIndex {
+
+	public static final String RESOURCE = "org/robotframework/formslibrary/keywords.index";
+
+	private static final String KEYWORD_PACKAGE = "org/robotframework/formslibrary/keyword";
+
+	private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<String, Class<?>>();
+
+	static {
+		for (Class<?> type : new Class<?>[] { int.class, long.class, double.class, boolean.class }) {
+			PRIMITIVE_TYPES.put(type.getName(), type);
+		}
+	}
+
+	private static KeywordIndex instance;
+
+	/**
+	 * Keyword methods by keyword name, the method annotated with RobotKeyword
+	 * first and the overloads after it.
+	 */
+	private final Map<String, List<Entry>> keywords = new LinkedHashMap<String, List<Entry>>();
+
+	private final Map<String, Object> instances = new ConcurrentHashMap<String, Object>();
+
+	/**
+	 * A single keyword method.
+	 */
+	private static class Entry {
+
+		private final String keyword;
+		private final String className;
+		private final String methodName;
+		private final String[] parameterTypes;
+		private final String[] argumentNames;
+		private final boolean overload;
+		private volatile Method method;
+
+		private Entry(String keyword, String className, String methodName, String[] parameterTypes, String[] argumentNames,
+				boolean overload) {
+			this.keyword = keyword;
+			this.className = className;
+			this.methodName = methodName;
+			this.parameterTypes = parameterTypes;
+			this.argumentNames = argumentNames;
+			this.overload = overload;
+		}
+
+		private boolean isVarArgs() {
+			return parameterTypes.length > 0 && parameterTypes[parameterTypes.length - 1].equals(String[].class.getName());
+		}
+
+		private boolean accepts(int argumentCount) {
+			if (isVarArgs()) {
+				return argumentCount >= parameterTypes.length - 1;
+			}
+			return argumentCount == parameterTypes.length;
+		}
+
+		private String toLine() {
+			return keyword + "\t" + className + "\t" + methodName + "\t" + join(parameterTypes) + "\t" + join(argumentNames) + "\t"
+					+ (overload ? "overload" : "keyword");
+		}
+
+		private static Entry fromLine(String line) {
+			String[] fields = line.split("\t", -1);
+			return new Entry(fields[0], fields[1], fields[2], split(fields[3]), split(fields[4]), fields[5].equals("overload"));
+		}
+	}
+
+	/**
+	 * Get the keyword index, loading it from the classpath the first time.
+	 */
+	public static synchronized KeywordIndex getInstance() {
+		if (instance == null) {
+			long start = System.currentTimeMillis();
+			instance = load();
+			if (instance == null) {
+				instance = scan();
+			}
+			Logger.debug("Keyword index with " + instance.keywords.size() + " keywords loaded in " + (System.currentTimeMillis() - start)
+					+ " ms.");
+		}
+		return instance;
+	}
+
+	/**
+	 * Load the generated index from the classpath.
+	 *
+	 * @return index or null if there is no generated index.
+	 */
+	private static KeywordIndex load() {
+		InputStream in = KeywordIndex.class.getClassLoader().getResourceAsStream(RESOURCE);
+		if (in == null) {
+			return null;
+		}
+		KeywordIndex index = new KeywordIndex();
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.length() > 0 && !line.startsWith("#")) {
+						index.add(Entry.fromLine(line));
+					}
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (IOException e) {
+			throw new FormsLibraryException(e);
+		}
+		return index;
+	}
+
+	/**
+	 * Create the index by scanning the keyword classes in the keyword package.
+	 */
+	public static KeywordIndex scan() {
+		KeywordIndex index = new KeywordIndex();
+		List<String> classNames = findKeywordClassNames();
+		Collections.sort(classNames);
+		for (String className : classNames) {
+			Class<?> keywordClass;
+			try {
+				keywordClass = Class.forName(className, false, KeywordIndex.class.getClassLoader());
+			} catch (ClassNotFoundException e) {
+				throw new FormsLibraryException(e);
+			}
+			if (keywordClass.isAnnotationPresent(RobotKeywords.class)) {
+				index.addClass(keywordClass);
+			}
+		}
+		return index;
+	}
+
+	private void addClass(Class<?> keywordClass) {
+
+		List<Method> methods = new ArrayList<Method>(Arrays.asList(keywordClass.getMethods()));
+		// keywords first, so the overloads are added after their keyword
+		Collections.sort(methods, (a, b) -> Boolean.compare(a.isAnnotationPresent(RobotKeywordOverload.class),
+				b.isAnnotationPresent(RobotKeywordOverload.class)));
+
+		for (Method method : methods) {
+			boolean overload = method.isAnnotationPresent(RobotKeywordOverload.class);
+			if (!overload && !method.isAnnotationPresent(RobotKeyword.class)) {
+				continue;
+			}
+			String[] parameterTypes = new String[method.getParameterTypes().length];
+			for (int i = 0; i < parameterTypes.length; i++) {
+				parameterTypes[i] = method.getParameterTypes()[i].getName();
+			}
+			ArgumentNames argumentNames = method.getAnnotation(ArgumentNames.class);
+			add(new Entry(method.getName(), keywordClass.getName(), method.getName(), parameterTypes,
+					argumentNames == null ? new String[0] : argumentNames.value(), overload));
+		}
+	}
+
+	private void add(Entry entry) {
+		List<Entry> entries = keywords.get(entry.keyword);
+		if (entries == null) {
+			entries = new ArrayList<Entry>();
+			keywords.put(entry.keyword, entries);
+		}
+		entries.add(entry);
+	}
+
+	/**
+	 * Write the index to a file, so it can be packaged with the library.
+	 */
+	public void write(File file) throws IOException {
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+		try {
+			writer.write("# This file is generated automatically and should not be edited.\n");
+			for (List<Entry> entries : keywords.values()) {
+				for (Entry entry : entries) {
+					writer.write(entry.toLine() + "\n");
+				}
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	public List<String> getKeywordNames() {
+		return new ArrayList<String>(keywords.keySet());
+	}
+
+	public boolean hasKeyword(String name) {
+		return keywords.containsKey(name);
+	}
+
+	public String[] getKeywordArguments(String name) {
+		return getKeyword(name).argumentNames;
+	}
+
+	/**
+	 * Get the documentation of a keyword. This loads the keyword class, but
+	 * does not instantiate it.
+	 */
+	public String getKeywordDocumentation(String name) {
+		RobotKeyword annotation = getMethod(getKeyword(name)).getAnnotation(RobotKeyword.class);
+		return annotation == null ? "" : annotation.value();
+	}
+
+	/**
+	 * Run a keyword. The keyword class is instantiated when it is used for the
+	 * first time. Named arguments are added after the positional arguments in
+	 * the order of the argument names, and the method of the keyword or of
+	 * one of its overloads which accepts that number of arguments is invoked.
+	 */
+	public Object runKeyword(String name, Object[] args, Map<String, Object> kwargs) {
+
+		List<Object> arguments = new ArrayList<Object>(Arrays.asList(args == null ? new Object[0] : args));
+		if (kwargs != null && !kwargs.isEmpty()) {
+			String[] argumentNames = getKeywordArguments(name);
+			for (int i = arguments.size(); i < argumentNames.length; i++) {
+				String argumentName = argumentNames[i].replace("=", "");
+				if (!kwargs.containsKey(argumentName)) {
+					break;
+				}
+				arguments.add(kwargs.get(argumentName));
+			}
+		}
+
+		Entry entry = null;
+		for (Entry candidate : keywords.get(name)) {
+			if (candidate.accepts(arguments.size())) {
+				entry = candidate;
+				break;
+			}
+		}
+		if (entry == null) {
+			throw new FormsLibraryException("Keyword '" + name + "' does not accept " + arguments.size() + " arguments.");
+		}
+
+		Method method = getMethod(entry);
+		try {
+			return method.invoke(getKeywordClassInstance(entry), convertArguments(method.getParameterTypes(), arguments));
+		} catch (IllegalAccessException e) {
+			throw new FormsLibraryException(e);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new FormsLibraryException(cause);
+		}
+	}
+
+	private Entry getKeyword(String name) {
+		List<Entry> entries = keywords.get(name);
+		if (entries == null) {
+			throw new FormsLibraryException("No keyword '" + name + "' found.");
+		}
+		return entries.get(0);
+	}
+
+	private Method getMethod(Entry entry) {
+		if (entry.method == null) {
+			try {
+				Class<?>[] types = new Class<?>[entry.parameterTypes.length];
+				for (int i = 0; i < types.length; i++) {
+					types[i] = PRIMITIVE_TYPES.containsKey(entry.parameterTypes[i]) ? PRIMITIVE_TYPES.get(entry.parameterTypes[i])
+							: Class.forName(entry.parameterTypes[i]);
+				}
+				entry.method = Class.forName(entry.className).getMethod(entry.methodName, types);
+			} catch (ClassNotFoundException e) {
+				throw new FormsLibraryException(e);
+			} catch (NoSuchMethodException e) {
+				throw new FormsLibraryException(e);
+			}
+		}
+		return entry.method;
+	}
+
+	private Object getKeywordClassInstance(Entry entry) {
+		Object keywordClass = instances.get(entry.className);
+		if (keywordClass == null) {
+			synchronized (instances) {
+				keywordClass = instances.get(entry.className);
+				if (keywordClass == null) {
+					try {
+						keywordClass = getMethod(entry).getDeclaringClass().newInstance();
+					} catch (InstantiationException e) {
+						throw new FormsLibraryException(e);
+					} catch (IllegalAccessException e) {
+						throw new FormsLibraryException(e);
+					}
+					instances.put(entry.className, keywordClass);
+				}
+			}
+		}
+		return keywordClass;
+	}
+
+	/**
+	 * Convert the arguments received from robot to the parameter types of the
+	 * keyword method. The remaining arguments are collected in the last
+	 * parameter if it is a String array.
+	 */
+	private static Object[] convertArguments(Class<?>[] types, List<Object> arguments) {
+		Object[] result = new Object[types.length];
+		for (int i = 0; i < types.length; i++) {
+			if (i == types.length - 1 && types[i] == String[].class) {
+				List<Object> rest = arguments.subList(i, arguments.size());
+				String[] values = new String[rest.size()];
+				for (int j = 0; j < values.length; j++) {
+					values[j] = rest.get(j) == null ? null : rest.get(j).toString();
+				}
+				result[i] = values;
+			} else {
+				result[i] = convertArgument(types[i], arguments.get(i));
+			}
+		}
+		return result;
+	}
+
+	private static Object convertArgument(Class<?> type, Object value) {
+		if (value == null || type.isInstance(value)) {
+			return value;
+		}
+		String text = value.toString().trim();
+		if (type == int.class || type == Integer.class) {
+			return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(text);
+		} else if (type == long.class || type == Long.class) {
+			return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(text);
+		} else if (type == double.class || type == Double.class) {
+			return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(text);
+		} else if (type == boolean.class || type == Boolean.class) {
+			return Boolean.parseBoolean(text);
+		} else if (type == String.class) {
+			return value.toString();
+		}
+		return value;
+	}
+
+	private static List<String> findKeywordClassNames() {
+		List<String> classNames = new ArrayList<String>();
+		try {
+			Enumeration<URL> urls = KeywordIndex.class.getClassLoader().getResources(KEYWORD_PACKAGE);
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				if (url.getProtocol().equals("jar")) {
+					Enumeration<JarEntry> entries = ((JarURLConnection) url.openConnection()).getJarFile().entries();
+					while (entries.hasMoreElements()) {
+						addClassName(classNames, entries.nextElement().getName());
+					}
+				} else {
+					String[] files = new File(url.toURI()).list();
+					for (String file : files == null ? new String[0] : files) {
+						addClassName(classNames, KEYWORD_PACKAGE + "/" + file);
+					}
+				}
+			}
+		} catch (Exception e) {
+			throw new FormsLibraryException(e);
+		}
+		return classNames;
+	}
+
+	private static void addClassName(List<String> classNames, String path) {
+		if (path.startsWith(KEYWORD_PACKAGE + "/") && path.endsWith(".class") && !path.contains("$")
+				&& path.indexOf('/', KEYWORD_PACKAGE.length() + 1) < 0) {
+			classNames.add(path.substring(0, path.length() - ".class".length()).replace('/', '.'));
+		}
+	}
+
+	private static String join(String[] values) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				result.append(',');
+			}
+			result.append(values[i]);
+		}
+		return result.toString();
+	}
+
+	private static String[] split(String value) {
+		return value.length() == 0 ? new String[0] : value.split(",");
+	}
+}
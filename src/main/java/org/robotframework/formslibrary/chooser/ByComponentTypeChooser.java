@@ -12,6 +12,8 @@ import org.robotframework.formslibrary.util.ComponentType;
 public class ByComponentTypeChooser implements ComponentChooser {
 
     private ComponentType[] allowedTypes;
+    private long allowedTypeMask;
+    private int desiredIndex;
     private int index;
 
     /**
@@ -22,25 +24,32 @@ public class ByComponentTypeChooser implements ComponentChooser {
      *            Specifies which component types to include.
      */
     public ByComponentTypeChooser(int index, ComponentType... allowedTypes) {
+        this.desiredIndex = index;
         this.index = index;
         this.allowedTypes = allowedTypes;
+        this.allowedTypeMask = ComponentType.mask(allowedTypes);
     }
 
     @Override
     public boolean checkComponent(Component component) {
 
-        for (ComponentType type : allowedTypes) {
-            if (type.matches(component) && component.isShowing()) {
-                if (index <= 0) {
-                    return true;
-                } else {
-                    index--;
-                }
+        if (ComponentType.matchesAny(component, allowedTypeMask) && component.isShowing()) {
+            if (index <= 0) {
+                return true;
+            } else {
+                index--;
             }
         }
         return false;
     }
 
+    /**
+     * Reset the occurrence count, so the chooser can be used for a new search.
+     */
+    public void reset() {
+        index = desiredIndex;
+    }
+
     @Override
     public String getDescription() {
         StringBuilder builder = new StringBuilder();
@@ -1,10 +1,13 @@
 package org.robotframework.formslibrary.chooser;
 
 import java.awt.Component;
+import java.awt.Container;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.netbeans.jemmy.ComponentChooser;
+import org.robotframework.formslibrary.context.ComponentIndex;
 import org.robotframework.formslibrary.util.ComponentType;
 import org.robotframework.formslibrary.util.ComponentUtil;
 import org.robotframework.formslibrary.util.Logger;
@@ -18,7 +21,7 @@ public class ByNameChooser implements ComponentChooser {
 
 	private static final Pattern INDEXED_NAME_PATTERN = Pattern.compile("(.*)(\\[)([0-9]*)(\\])");
 
-	private ComponentType[] allowedTypes;
+	private long allowedTypeMask;
 	private String name;
 	private int desiredIndex;
 	private int currentIndex = 1;
@@ -33,7 +36,7 @@ public class ByNameChooser implements ComponentChooser {
 	 *            Specifies which component types to include.
 	 */
 	public ByNameChooser(String identifier, ComponentType... allowedTypes) {
-		this.allowedTypes = allowedTypes;
+		this.allowedTypeMask = ComponentType.mask(allowedTypes);
 		this.name = parseName(identifier);
 		this.desiredIndex = parseIndex(identifier);
 	}
@@ -72,27 +75,55 @@ public class ByNameChooser implements ComponentChooser {
 
 	@Override
 	public boolean checkComponent(Component component) {
-		if (allowedTypes == null || allowedTypes.length == 0) {
+		// hidden components are not counted, just like in the component index
+		if (!component.isShowing()) {
+			return false;
+		}
+
+		if (allowedTypeMask == 0) {
 			return ComponentUtil.hasName(component, name);
 		}
 
-		for (ComponentType type : allowedTypes) {
-			if (type.matches(component)) {
-				Logger.debug("Checking component " + ComponentUtil.getFormattedComponentNames(component));
-				if (ComponentUtil.hasName(component, name)) {
-					Logger.info("Found " + component.getClass().getSimpleName() + " '" + ComponentUtil.getFormattedComponentNames(component) + "' ["
-							+ currentIndex + "].");
-					if (currentIndex == desiredIndex) {
-						return true;
-					} else {
-						currentIndex++;
-					}
+		if (ComponentType.matchesAny(component, allowedTypeMask)) {
+			Logger.debug("Checking component " + ComponentUtil.getFormattedComponentNames(component));
+			if (ComponentUtil.hasName(component, name)) {
+				Logger.info("Found " + component.getClass().getSimpleName() + " '" + ComponentUtil.getFormattedComponentNames(component) + "' ["
+						+ currentIndex + "].");
+				if (currentIndex == desiredIndex) {
+					return true;
+				} else {
+					currentIndex++;
 				}
 			}
 		}
 		return false;
 	}
 
+	/**
+	 * Find all visible components with the name and allowed types in the
+	 * component index of the given context.
+	 */
+	public List<Component> findComponents(Container context) {
+		return ComponentIndex.getIndex(context).findComponentsByName(name, allowedTypeMask);
+	}
+
+	/**
+	 * Find the component in the component index of the given context. Unlike
+	 * checkComponent, this doesn't change the state of the chooser.
+	 * 
+	 * @return matching component or null if no match was found.
+	 */
+	public Component findComponent(Container context) {
+		List<Component> components = findComponents(context);
+		if (components.size() < desiredIndex) {
+			return null;
+		}
+		Component component = components.get(desiredIndex - 1);
+		Logger.info("Found " + component.getClass().getSimpleName() + " '" + ComponentUtil.getFormattedComponentNames(component) + "' ["
+				+ desiredIndex + "].");
+		return component;
+	}
+
 	@Override
 	public String getDescription() {
 		return name;
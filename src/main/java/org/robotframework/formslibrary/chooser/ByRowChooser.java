@@ -1,8 +1,11 @@
 package org.robotframework.formslibrary.chooser;
 
 import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.netbeans.jemmy.ComponentChooser;
+import org.robotframework.formslibrary.context.SpatialIndex;
 import org.robotframework.formslibrary.util.ComponentType;
 import org.robotframework.formslibrary.util.ComponentUtil;
 import org.robotframework.formslibrary.util.Logger;
@@ -15,32 +18,45 @@ import org.robotframework.formslibrary.util.Logger;
 public class ByRowChooser implements ComponentChooser {
 
     private Component nearbyComponent;
-    private ComponentType[] allowedTypes;
+    private long allowedTypeMask;
     private String name;
 
     public ByRowChooser(Component nearbyComponent, String identifier, ComponentType... allowedTypes) {
         this.name = identifier;
-        this.allowedTypes = allowedTypes;
+        this.allowedTypeMask = ComponentType.mask(allowedTypes);
         this.nearbyComponent = nearbyComponent;
     }
 
     @Override
     public boolean checkComponent(Component component) {
 
-        for (ComponentType type : allowedTypes) {
-            if (type.matches(component)) {
-                if (ComponentUtil.hasName(component, name)) {
-                    if (ComponentUtil.areAlignedVertically(nearbyComponent, component)) {
-                        Logger.info(
-                                "Found " + component.getClass().getSimpleName() + " '" + ComponentUtil.getFormattedComponentNames(component) + "'");
-                        return true;
-                    }
+        if (ComponentType.matchesAny(component, allowedTypeMask)) {
+            if (ComponentUtil.hasName(component, name)) {
+                if (ComponentUtil.areAlignedVertically(nearbyComponent, component)) {
+                    Logger.info("Found " + component.getClass().getSimpleName() + " '" + ComponentUtil.getFormattedComponentNames(component) + "'");
+                    return true;
                 }
             }
         }
         return false;
     }
 
+    /**
+     * Find the matching components in the row of the nearby component using a
+     * spatial index, sorted from left to right.
+     */
+    public List<Component> findComponents(SpatialIndex index) {
+
+        List<Component> result = new ArrayList<Component>();
+        for (Component component : index.getRow(nearbyComponent)) {
+            if (ComponentType.matchesAny(component, allowedTypeMask) && ComponentUtil.hasName(component, name)) {
+                Logger.info("Found " + component.getClass().getSimpleName() + " '" + ComponentUtil.getFormattedComponentNames(component) + "'");
+                result.add(component);
+            }
+        }
+        return result;
+    }
+
     @Override
     public String getDescription() {
         return name;
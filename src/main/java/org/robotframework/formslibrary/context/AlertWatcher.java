@@ -0,0 +1,337 @@
+package org.robotframework.formslibrary.context;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.AWTEventListener;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ContainerEvent;
+import java.awt.event.WindowEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.robotframework.formslibrary.operator.ButtonOperator;
+import org.robotframework.formslibrary.util.ComponentComparator;
+import org.robotframework.formslibrary.util.ComponentType;
+import org.robotframework.formslibrary.util.ComponentUtil;
+import org.robotframework.formslibrary.util.DebugUtil;
+import org.robotframework.formslibrary.util.EdtUtil;
+import org.robotframework.formslibrary.util.Logger;
+
+/**
+ * Watches the application for alert panes being shown. Every alert is queued
+ * with its message, the time it appeared and the keyword which was running, so
+ * unexpected alerts can be reported without searching the component tree.
+ *
+ * The AWTEventListener only queues the added or shown components, since it can
+ * run while the tree lock is held. The queued components are searched for alert
+ * panes in a task posted to the event queue, right after the event was handled.
+ */
+public class AlertWatcher {
+
+	private static final long EVENT_MASK = AWTEvent.CONTAINER_EVENT_MASK | AWTEvent.COMPONENT_EVENT_MASK | AWTEvent.WINDOW_EVENT_MASK;
+
+	/**
+	 * Maximum number of alerts kept in the queue.
+	 */
+	private static final int MAX_ALERTS = 100;
+
+	private static final Queue<Event> events = new ConcurrentLinkedQueue<Event>();
+
+	private static final AtomicBoolean scanScheduled = new AtomicBoolean();
+
+	private static final Deque<Alert> alerts = new ArrayDeque<Alert>();
+
+	/**
+	 * Alert panes which are currently showing, with the alert recorded when
+	 * they appeared.
+	 */
+	private static final Map<Component, Alert> showingPanes = new IdentityHashMap<Component, Alert>();
+
+	private static boolean listening = false;
+
+	private static volatile boolean autoDismiss = false;
+
+	private static volatile String dismissButton;
+
+	/**
+	 * A component which was added or shown.
+	 */
+	private static class Event {
+
+		private final Component component;
+		private final long time;
+		private final String keyword;
+
+		private Event(Component component) {
+			this.component = component;
+			this.time = System.currentTimeMillis();
+			String current = DebugUtil.getCurrentKeyword();
+			this.keyword = current != null ? current : "after " + DebugUtil.getLastKeyword();
+		}
+	}
+
+	/**
+	 * An alert which was shown.
+	 */
+	public static class Alert {
+
+		private final Component pane;
+		private final long time;
+		private final String keyword;
+		private String message;
+
+		private Alert(Component pane, Event event) {
+			this.pane = pane;
+			this.time = event.time;
+			this.keyword = event.keyword;
+			this.message = ComponentUtil.getAccessibleText(pane);
+		}
+
+		public Component getPane() {
+			return pane;
+		}
+
+		public String getMessage() {
+			if (message == null || message.isEmpty()) {
+				message = ComponentUtil.getAccessibleText(pane);
+			}
+			return message;
+		}
+
+		public long getTime() {
+			return time;
+		}
+
+		/**
+		 * @return keyword which was running when the alert appeared.
+		 */
+		public String getKeyword() {
+			return keyword;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%tT.%<tL [%s] %s", time, keyword, getMessage());
+		}
+	}
+
+	/**
+	 * Start watching for alerts. Windows which are already open are searched
+	 * for alerts too.
+	 */
+	public static synchronized void start() {
+		if (!listening) {
+			Toolkit.getDefaultToolkit().addAWTEventListener(new AWTEventListener() {
+				@Override
+				public void eventDispatched(AWTEvent event) {
+					handleEvent(event);
+				}
+			}, EVENT_MASK);
+			listening = true;
+
+			for (Window window : Window.getWindows()) {
+				events.add(new Event(window));
+			}
+			scheduleScan();
+		}
+	}
+
+	/**
+	 * Automatically dismiss alerts when they appear, by pushing the button with
+	 * the given label or, when no label is given, the first button.
+	 */
+	public static void setAutoDismiss(boolean enabled, String buttonLabel) {
+		autoDismiss = enabled;
+		dismissButton = buttonLabel;
+	}
+
+	/**
+	 * Get all queued alerts and remove them from the queue.
+	 */
+	public static List<Alert> takeAlerts() {
+		start();
+		waitForScan();
+		synchronized (AlertWatcher.class) {
+			List<Alert> result = new ArrayList<Alert>(alerts);
+			alerts.clear();
+			return result;
+		}
+	}
+
+	/**
+	 * @return the alert pane which appeared last and is still showing, or null
+	 *         if no alert is showing.
+	 */
+	public static Component getShowingPane() {
+		start();
+		waitForScan();
+		synchronized (AlertWatcher.class) {
+			Component result = null;
+			long time = Long.MIN_VALUE;
+			for (Alert alert : showingPanes.values()) {
+				if (alert.pane.isShowing() && alert.time >= time) {
+					result = alert.pane;
+					time = alert.time;
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Dismiss an alert by pushing one of the buttons in its dialog.
+	 *
+	 * @param buttonLabel
+	 *            label of the button to push, or null for the first button.
+	 * @return true if a button was pushed.
+	 */
+	public static boolean dismiss(Component pane, String buttonLabel) {
+
+		Container container = pane.getParent();
+		while (container != null) {
+			List<Component> buttons = ComponentIndex.getIndex(container).findComponents(ComponentType.ALL_BUTTON_TYPES);
+			Collections.sort(buttons, new ComponentComparator());
+			for (Component button : buttons) {
+				if (buttonLabel == null || ComponentUtil.hasName(button, buttonLabel)) {
+					Logger.info("Dismissing alert '" + ComponentUtil.getAccessibleText(pane) + "' with button '"
+							+ ComponentUtil.getAccessibleText(button) + "'.");
+					new ButtonOperator(button).push();
+					return true;
+				}
+			}
+			if (container instanceof Window) {
+				break;
+			}
+			container = container.getParent();
+		}
+		return false;
+	}
+
+	private static void handleEvent(AWTEvent event) {
+
+		switch (event.getID()) {
+		case ContainerEvent.COMPONENT_ADDED:
+			queue(((ContainerEvent) event).getChild());
+			break;
+		case ComponentEvent.COMPONENT_SHOWN:
+		case WindowEvent.WINDOW_OPENED:
+			queue(((ComponentEvent) event).getComponent());
+			break;
+		default:
+			break;
+		}
+	}
+
+	private static void queue(Component component) {
+		if (component instanceof Container) {
+			events.add(new Event(component));
+			scheduleScan();
+		}
+	}
+
+	private static void scheduleScan() {
+		if (scanScheduled.compareAndSet(false, true)) {
+			EventQueue.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					scanScheduled.set(false);
+					scan();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Wait until the components queued so far have been searched for alerts.
+	 */
+	private static void waitForScan() {
+		if (EventQueue.isDispatchThread()) {
+			scan();
+		} else if (!events.isEmpty()) {
+			try {
+				EdtUtil.read(() -> {
+					scan();
+					return null;
+				});
+			} catch (RuntimeException e) {
+				Logger.error(e);
+			}
+		}
+	}
+
+	/**
+	 * Search the queued components for alert panes which were not showing
+	 * before. Runs on the event dispatch thread.
+	 */
+	private static void scan() {
+
+		List<Alert> newAlerts = new ArrayList<Alert>();
+
+		synchronized (AlertWatcher.class) {
+
+			Iterator<Component> iterator = showingPanes.keySet().iterator();
+			while (iterator.hasNext()) {
+				if (!iterator.next().isShowing()) {
+					iterator.remove();
+				}
+			}
+
+			Event event;
+			while ((event = events.poll()) != null) {
+				for (Component pane : findAlertPanes(event.component)) {
+					if (pane.isShowing() && !showingPanes.containsKey(pane)) {
+						Alert alert = new Alert(pane, event);
+						showingPanes.put(pane, alert);
+						alerts.addLast(alert);
+						if (alerts.size() > MAX_ALERTS) {
+							alerts.removeFirst();
+						}
+						newAlerts.add(alert);
+					}
+				}
+			}
+		}
+
+		for (Alert alert : newAlerts) {
+			Logger.debug("Alert shown: " + alert);
+			if (autoDismiss) {
+				final Component pane = alert.pane;
+				final String buttonLabel = dismissButton;
+				EventQueue.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						if (pane.isShowing() && !dismiss(pane, buttonLabel)) {
+							Logger.info("No button found to dismiss alert '" + ComponentUtil.getAccessibleText(pane) + "'.");
+						}
+					}
+				});
+			}
+		}
+	}
+
+	private static List<Component> findAlertPanes(Component component) {
+
+		List<Component> result = new ArrayList<Component>();
+		if (ComponentType.ALERT_PANE.matches(component)) {
+			result.add(component);
+		} else if (component instanceof Container && component.isShowing()) {
+			for (Component child : ((Container) component).getComponents()) {
+				result.addAll(findAlertPanes(child));
+			}
+		}
+		return result;
+	}
+}
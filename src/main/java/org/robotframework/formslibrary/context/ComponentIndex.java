@@ -0,0 +1,598 @@
+package org.robotframework.formslibrary.context;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Point;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ContainerEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.accessibility.AccessibleContext;
+
+import org.robotframework.formslibrary.util.ComponentType;
+import org.robotframework.formslibrary.util.ComponentUtil;
+import org.robotframework.formslibrary.util.LocationCache;
+
+/**
+ * Index of all the components in a context container. The index is built
+ * with a single traversal of the container and is kept up to date by an
+ * AWTEventListener: removed components are dropped from the index, added
+ * components trigger a new traversal on the next lookup, moved components
+ * invalidate the cached window locations and shown or hidden components, e.g.
+ * on a tab switch, invalidate the spatial indexes of the showing components.
+ *
+ * Components are indexed by component type, by all their normalized names and
+ * by their location in the window. Names like button labels can change without
+ * a container event, so the index listens to the name related property changes
+ * of the components and indexes the names of a changed component again.
+ *
+ * The indexed components reference the context container through their
+ * parents, so the registry cannot rely on weak keys alone: indexes are dropped
+ * as soon as their context container is no longer displayable.
+ */
+public class ComponentIndex {
+
+	private static final long EVENT_MASK = AWTEvent.CONTAINER_EVENT_MASK | AWTEvent.COMPONENT_EVENT_MASK;
+
+	private static final Map<Container, ComponentIndex> INDEXES = new WeakHashMap<Container, ComponentIndex>();
+
+	private static boolean listening = false;
+
+	private final WeakReference<Container> root;
+
+	// changes reported by the event listener, which runs on the thread
+	// modifying the component tree
+	private final AtomicInteger structureChanges = new AtomicInteger();
+	private final AtomicInteger geometryChanges = new AtomicInteger();
+	private final AtomicInteger visibilityChanges = new AtomicInteger();
+	private final Queue<Component> removedComponents = new ConcurrentLinkedQueue<Component>();
+	private final Queue<Entry> renamedEntries = new ConcurrentLinkedQueue<Entry>();
+
+	private int indexedStructureChanges = -1;
+	private int indexedGeometryChanges = -1;
+	private int indexedVisibilityChanges = -1;
+	private int removedCount;
+
+	private final List<Entry> entries = new ArrayList<Entry>();
+	private final Map<Component, Entry> byComponent = new IdentityHashMap<Component, Entry>();
+	private final Map<ComponentType, List<Entry>> byType = new EnumMap<ComponentType, List<Entry>>(ComponentType.class);
+
+	/**
+	 * Index of all the names returned by ComponentUtil.getComponentNames. The
+	 * names are collected on the first lookup by name, since reading them
+	 * requires reflective calls on every component.
+	 */
+	private TreeMap<String, List<Entry>> byName;
+
+	/**
+	 * Properties which change one of the names returned by
+	 * ComponentUtil.getComponentNames, in lower case.
+	 */
+	private static final Set<String> NAME_PROPERTIES = new HashSet<String>(Arrays.asList("label", "text", "title", "tooltiptext",
+			AccessibleContext.ACCESSIBLE_DESCRIPTION_PROPERTY.toLowerCase()));
+
+	/**
+	 * Spatial indexes by component type mask.
+	 */
+	private final Map<Long, SpatialIndex> spatialIndexes = new HashMap<Long, SpatialIndex>();
+
+	private LocationCache locations = new LocationCache();
+
+	/**
+	 * Index entry for a single component.
+	 */
+	private static class Entry {
+
+		private final Component component;
+
+		/**
+		 * The context container itself is only referenced weakly.
+		 */
+		private final WeakReference<Component> rootComponent;
+
+		/**
+		 * Position of the component in the traversal order.
+		 */
+		private final int position;
+
+		/**
+		 * Position of the last component in the subtree of this component.
+		 */
+		private int lastDescendant;
+
+		private boolean removed;
+
+		/**
+		 * Normalized names under which the entry is indexed, null when the
+		 * names are not indexed.
+		 */
+		private List<String> names;
+
+		/**
+		 * Listens to name changes while the names are indexed.
+		 */
+		private PropertyChangeListener nameListener;
+
+		private volatile boolean renamed;
+
+		private Entry(Component component, int position) {
+			this.component = position == 0 ? null : component;
+			this.rootComponent = position == 0 ? new WeakReference<Component>(component) : null;
+			this.position = position;
+		}
+
+		private Component getComponent() {
+			return component != null ? component : rootComponent.get();
+		}
+	}
+
+	private static final Comparator<Entry> TRAVERSAL_ORDER = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			return Integer.compare(e1.position, e2.position);
+		}
+	};
+
+	private ComponentIndex(Container root) {
+		this.root = new WeakReference<Container>(root);
+	}
+
+	/**
+	 * Get the component index for the given context container. The index is
+	 * created the first time it is requested and reused afterwards.
+	 */
+	public static ComponentIndex getIndex(Container root) {
+		synchronized (INDEXES) {
+			startListening();
+			evictClosedIndexes();
+			ComponentIndex index = INDEXES.get(root);
+			if (index == null) {
+				index = new ComponentIndex(root);
+				INDEXES.put(root, index);
+			}
+			return index;
+		}
+	}
+
+	private static void startListening() {
+		if (!listening) {
+			Toolkit.getDefaultToolkit().addAWTEventListener(new AWTEventListener() {
+				@Override
+				public void eventDispatched(AWTEvent event) {
+					synchronized (INDEXES) {
+						evictClosedIndexes();
+						for (ComponentIndex index : INDEXES.values()) {
+							index.eventDispatched(event);
+						}
+					}
+				}
+			}, EVENT_MASK);
+			listening = true;
+		}
+	}
+
+	/**
+	 * Drop the indexes of context containers which are no longer displayable,
+	 * so their components can be garbage collected. Must be called while
+	 * holding the INDEXES lock.
+	 */
+	private static void evictClosedIndexes() {
+		Iterator<ComponentIndex> iterator = INDEXES.values().iterator();
+		while (iterator.hasNext()) {
+			Container container = iterator.next().root.get();
+			if (container == null || !container.isDisplayable()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Register changes in the component tree. Container events are dispatched
+	 * while the AWT tree lock is held, so no index lock may be taken here.
+	 */
+	private void eventDispatched(AWTEvent event) {
+
+		Container container = root.get();
+		if (container == null) {
+			return;
+		}
+
+		if (event instanceof ContainerEvent) {
+			ContainerEvent containerEvent = (ContainerEvent) event;
+			if (isPartOf(containerEvent.getContainer(), container)) {
+				if (event.getID() == ContainerEvent.COMPONENT_ADDED) {
+					structureChanges.incrementAndGet();
+				} else if (event.getID() == ContainerEvent.COMPONENT_REMOVED) {
+					removedComponents.add(containerEvent.getChild());
+				}
+			}
+		} else if (event.getID() == ComponentEvent.COMPONENT_MOVED) {
+			if (isPartOf((Component) event.getSource(), container)) {
+				geometryChanges.incrementAndGet();
+			}
+		} else if (event.getID() == ComponentEvent.COMPONENT_SHOWN || event.getID() == ComponentEvent.COMPONENT_HIDDEN) {
+			if (isPartOf((Component) event.getSource(), container)) {
+				visibilityChanges.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Check if a component is the container or one of its descendants.
+	 */
+	private static boolean isPartOf(Component component, Container container) {
+		for (Component c = component; c != null; c = c.getParent()) {
+			if (c == container) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Find all visible components of the given types, in the same order as a
+	 * traversal of the context would find them. Just like with a traversal,
+	 * components nested inside a visible matching component are not included.
+	 */
+	public synchronized List<Component> findComponents(ComponentType... types) {
+
+		update();
+
+		List<Entry> candidates = new ArrayList<Entry>();
+		for (ComponentType type : types) {
+			List<Entry> typeEntries = byType.get(type);
+			if (typeEntries != null) {
+				candidates.addAll(typeEntries);
+			}
+		}
+		if (types.length > 1) {
+			Collections.sort(candidates, TRAVERSAL_ORDER);
+		}
+
+		return selectShowing(candidates);
+	}
+
+	/**
+	 * Find all visible components with the given name, in traversal order. The
+	 * name is matched like ComponentUtil.hasName does and can end with a '*'
+	 * wildcard, which is looked up as a range of the sorted names.
+	 *
+	 * The names of the components found in the index are checked again, in
+	 * case a name changed without a property change event.
+	 *
+	 * @param typeMask
+	 *            mask of the allowed component types, or 0 to allow any type.
+	 */
+	public synchronized List<Component> findComponentsByName(String name, long typeMask) {
+
+		update();
+
+		if (byName == null) {
+			indexNames();
+		}
+
+		List<Entry> candidates = new ArrayList<Entry>();
+		String key = normalize(name);
+		if (key.endsWith("*")) {
+			String prefix = key.substring(0, key.length() - 1);
+			for (Map.Entry<String, List<Entry>> nameEntries : byName.tailMap(prefix).entrySet()) {
+				if (!nameEntries.getKey().startsWith(prefix)) {
+					break;
+				}
+				candidates.addAll(nameEntries.getValue());
+			}
+		} else if (byName.containsKey(key)) {
+			candidates.addAll(byName.get(key));
+		}
+		Collections.sort(candidates, TRAVERSAL_ORDER);
+
+		List<Component> result = new ArrayList<Component>();
+		int lastPosition = -1;
+		for (Entry entry : candidates) {
+			if (entry.removed || entry.position == lastPosition) {
+				continue;
+			}
+			lastPosition = entry.position;
+			Component component = entry.getComponent();
+			if (component != null && (typeMask == 0 || ComponentType.matchesAny(component, typeMask)) && component.isShowing()
+					&& ComponentUtil.hasName(component, name)) {
+				result.add(component);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Get a spatial index of all visible components of the given types. The
+	 * spatial index is reused until components in the context are added,
+	 * removed, moved, shown or hidden.
+	 */
+	public synchronized SpatialIndex getSpatialIndex(ComponentType... types) {
+
+		update();
+
+		Long typeMask = ComponentType.mask(types);
+		SpatialIndex spatialIndex = spatialIndexes.get(typeMask);
+		if (spatialIndex == null) {
+			spatialIndex = new SpatialIndex(findComponents(types), this);
+			spatialIndexes.put(typeMask, spatialIndex);
+		}
+		return spatialIndex;
+	}
+
+	/**
+	 * Get the location of a component relative to its window. Locations are
+	 * cached until a component in the context is moved.
+	 */
+	public synchronized Point getLocationInWindow(Component component) {
+
+		update();
+
+		if (!byComponent.containsKey(component)) {
+			return ComponentUtil.getLocationInWindow(component);
+		}
+		return locations.getLocation(component);
+	}
+
+	/**
+	 * Select the visible components from index entries sorted in traversal
+	 * order. Components nested in a selected component are skipped.
+	 */
+	private static List<Component> selectShowing(List<Entry> candidates) {
+
+		List<Component> result = new ArrayList<Component>();
+		int lastSelectedDescendant = -1;
+		for (Entry entry : candidates) {
+			if (entry.removed || entry.position <= lastSelectedDescendant) {
+				continue;
+			}
+			Component component = entry.getComponent();
+			if (component != null && component.isShowing()) {
+				result.add(component);
+				lastSelectedDescendant = entry.lastDescendant;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Apply the changes reported by the event listener.
+	 */
+	private void update() {
+
+		Container container = root.get();
+		if (container == null) {
+			return;
+		}
+
+		if (indexedStructureChanges != structureChanges.get()) {
+			rebuild(container);
+			return;
+		}
+
+		Component removed = removedComponents.poll();
+		while (removed != null) {
+			remove(removed);
+			removed = removedComponents.poll();
+		}
+
+		Entry renamed = renamedEntries.poll();
+		while (renamed != null) {
+			renamed.renamed = false;
+			if (byName != null && !renamed.removed && isIndexed(renamed)) {
+				indexNames(renamed);
+			}
+			renamed = renamedEntries.poll();
+		}
+
+		if (removedCount > entries.size() / 2) {
+			// don't keep holding on to too many removed components
+			rebuild(container);
+			return;
+		}
+
+		int changes = geometryChanges.get();
+		if (changes != indexedGeometryChanges) {
+			locations = new LocationCache();
+			spatialIndexes.clear();
+			indexedGeometryChanges = changes;
+		}
+
+		changes = visibilityChanges.get();
+		if (changes != indexedVisibilityChanges) {
+			spatialIndexes.clear();
+			indexedVisibilityChanges = changes;
+		}
+	}
+
+	private void rebuild(Container container) {
+
+		unwatchNames();
+		removedComponents.clear();
+		renamedEntries.clear();
+		indexedStructureChanges = structureChanges.get();
+		indexedGeometryChanges = geometryChanges.get();
+		indexedVisibilityChanges = visibilityChanges.get();
+		removedCount = 0;
+
+		entries.clear();
+		byComponent.clear();
+		byType.clear();
+		byName = null;
+		locations = new LocationCache();
+		spatialIndexes.clear();
+
+		add(container);
+	}
+
+	private void add(Component component) {
+
+		Entry entry = new Entry(component, entries.size());
+		entries.add(entry);
+		if (entry.position > 0) {
+			byComponent.put(component, entry);
+		}
+
+		for (ComponentType type : ComponentType.getTypes(component)) {
+			List<Entry> typeEntries = byType.get(type);
+			if (typeEntries == null) {
+				typeEntries = new ArrayList<Entry>();
+				byType.put(type, typeEntries);
+			}
+			typeEntries.add(entry);
+		}
+
+		if (component instanceof Container) {
+			for (Component child : ((Container) component).getComponents()) {
+				add(child);
+			}
+		}
+		entry.lastDescendant = entries.size() - 1;
+	}
+
+	private void indexNames() {
+		byName = new TreeMap<String, List<Entry>>();
+		for (Entry entry : entries) {
+			if (!entry.removed) {
+				watchNames(entry);
+				indexNames(entry);
+			}
+		}
+	}
+
+	/**
+	 * Index the current names of an entry, replacing the names it was indexed
+	 * under before.
+	 */
+	private void indexNames(Entry entry) {
+
+		if (entry.names != null) {
+			for (String key : entry.names) {
+				List<Entry> nameEntries = byName.get(key);
+				if (nameEntries != null) {
+					nameEntries.remove(entry);
+					if (nameEntries.isEmpty()) {
+						byName.remove(key);
+					}
+				}
+			}
+		}
+
+		entry.names = new ArrayList<String>();
+		Component component = entry.getComponent();
+		if (component == null) {
+			return;
+		}
+		for (String name : ComponentUtil.getComponentNames(component)) {
+			String key = normalize(name);
+			if (entry.names.contains(key)) {
+				continue;
+			}
+			entry.names.add(key);
+			List<Entry> nameEntries = byName.get(key);
+			if (nameEntries == null) {
+				nameEntries = new ArrayList<Entry>();
+				byName.put(key, nameEntries);
+			}
+			nameEntries.add(entry);
+		}
+	}
+
+	/**
+	 * Listen to the name related property changes of the component and its
+	 * accessible context. The listener runs on the thread changing the
+	 * property, so it only queues the entry.
+	 */
+	private void watchNames(final Entry entry) {
+
+		Component component = entry.getComponent();
+		if (component == null) {
+			return;
+		}
+		entry.nameListener = new PropertyChangeListener() {
+			@Override
+			public void propertyChange(PropertyChangeEvent evt) {
+				String property = evt.getPropertyName();
+				if (property != null && NAME_PROPERTIES.contains(property.toLowerCase()) && !entry.renamed) {
+					entry.renamed = true;
+					renamedEntries.add(entry);
+				}
+			}
+		};
+		component.addPropertyChangeListener(entry.nameListener);
+		AccessibleContext context = component.getAccessibleContext();
+		if (context != null) {
+			context.addPropertyChangeListener(entry.nameListener);
+		}
+	}
+
+	private void unwatchNames() {
+		for (Entry entry : entries) {
+			Component component = entry.getComponent();
+			if (entry.nameListener == null || component == null) {
+				continue;
+			}
+			component.removePropertyChangeListener(entry.nameListener);
+			AccessibleContext context = component.getAccessibleContext();
+			if (context != null) {
+				context.removePropertyChangeListener(entry.nameListener);
+			}
+			entry.nameListener = null;
+		}
+	}
+
+	/**
+	 * Check if the entry is part of the current index, and not of an index
+	 * which was rebuilt since the entry was queued.
+	 */
+	private boolean isIndexed(Entry entry) {
+		return entry.position < entries.size() && entries.get(entry.position) == entry;
+	}
+
+	/**
+	 * Mark a component and all its descendants as removed.
+	 */
+	private void remove(Component component) {
+
+		Entry entry = byComponent.get(component);
+		if (entry == null || entry.removed) {
+			return;
+		}
+		spatialIndexes.clear();
+		for (int i = entry.position; i <= entry.lastDescendant; i++) {
+			Entry descendant = entries.get(i);
+			descendant.removed = true;
+			byComponent.remove(descendant.component);
+			removedCount++;
+		}
+	}
+
+	private static String normalize(String name) {
+		if (name == null) {
+			return "";
+		}
+		return name.toLowerCase().trim();
+	}
+}
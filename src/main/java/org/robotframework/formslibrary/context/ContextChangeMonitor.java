@@ -1,27 +1,38 @@
 package org.robotframework.formslibrary.context;
 
-import java.util.List;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dialog;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
-import org.robotframework.formslibrary.operator.LWWindowOperator;
+import org.robotframework.formslibrary.operator.FrameOperator;
+import org.robotframework.formslibrary.util.ComponentType;
+import org.robotframework.formslibrary.util.ComponentUtil;
+import org.robotframework.formslibrary.util.EdtUtil;
 import org.robotframework.formslibrary.util.Logger;
+import org.robotframework.formslibrary.util.ObjectUtil;
 
 /**
- * Monitor the open windows before and after an action. When a new window is
- * detected or the current window was closed, the current context will be
- * changed accordingly.
+ * Monitor the windows which are opened and closed during an action. When a new
+ * window is detected or the current window was closed, the current context
+ * will be changed accordingly. The changes are read from the window journal,
+ * so windows which were opened and closed during the action are detected as
+ * well.
+ *
+ * Oracle forms windows are shown and hidden through events on the event queue,
+ * so the queue is flushed before the journal is read.
  */
 public class ContextChangeMonitor {
 
-	private List<String> initialOpenLWWindows;
+	private long startSequence;
 
 	/**
 	 * Start monitoring for window changes.
 	 */
 	public void start() {
 		if (FormsContext.isFormsServicesApp()) {
-			initialOpenLWWindows = new LWWindowOperator().getWindowTitles();
-		} else {
-
+			startSequence = WindowJournal.getSequence();
 		}
 	}
 
@@ -33,24 +44,76 @@ public class ContextChangeMonitor {
 	 */
 	public void stop() {
 		if (FormsContext.isFormsServicesApp()) {
-			List<String> newOpenWindows = new LWWindowOperator().getWindowTitles();
 
-			// check if a window was closed
-			if (newOpenWindows.size() < initialOpenLWWindows.size()) {
-				FormsContext.resetContext();
-				return;
+			// let the window events posted during the action be dispatched
+			EdtUtil.flush();
+
+			// last change of every window during the action
+			Map<Component, WindowJournal.Entry> changes = new IdentityHashMap<Component, WindowJournal.Entry>();
+			for (WindowJournal.Entry entry : WindowJournal.getEntriesSince(startSequence)) {
+				if (entry.getWindow() == null) {
+					continue;
+				}
+				WindowJournal.Entry previous = changes.put(entry.getWindow(), entry);
+				if (previous != null && previous.isOpened() && !entry.isOpened()) {
+					Logger.info("Window " + getTitle(entry.getWindow()) + " was opened and closed again.");
+				}
 			}
 
 			// check for new windows
-			for (String name : newOpenWindows) {
-				if (!initialOpenLWWindows.contains(name)) {
-					// there is a new window open
-					Logger.info("Found new window '" + name + "', autosetting context to new window.");
-					new LWWindowOperator().setWindowAsContext(name);
-					return;
+			WindowJournal.Entry newWindow = null;
+			boolean contextClosed = false;
+			Component contextComponent = FormsContext.getContext().getSource();
+			for (WindowJournal.Entry entry : changes.values()) {
+				if (entry.isDialog()) {
+					continue;
+				}
+				if (entry.isOpened()) {
+					if (isOpenWindow(entry.getWindow()) && (newWindow == null || entry.getSequence() > newWindow.getSequence())) {
+						newWindow = entry;
+					}
+				} else if (ComponentUtil.containsComponent(entry.getWindow(), contextComponent)) {
+					contextClosed = true;
 				}
 			}
+
+			if (newWindow != null) {
+				Component frame = newWindow.getWindow();
+				Logger.info("Found new window " + getTitle(frame) + ", autosetting context to new window.");
+				FormsContext.setContext(new FrameOperator((Container) frame));
+				frame.requestFocus();
+			} else if (contextClosed) {
+				FormsContext.resetContext();
+			}
 		}
+	}
 
+	/**
+	 * Check if the frame is still a visible oracle forms window.
+	 */
+	private boolean isOpenWindow(Component frame) {
+		return frame.isVisible() && ComponentType.FORM_DESKTOP.matches(frame.getParent()) && getTitleBar(frame) != null;
+	}
+
+	private Component getTitleBar(Component frame) {
+		if (frame instanceof Container) {
+			for (Component child : ((Container) frame).getComponents()) {
+				if (ComponentType.TITLE_BAR.matches(child)) {
+					return child;
+				}
+			}
+		}
+		return null;
+	}
+
+	private String getTitle(Component window) {
+		Component titleBar = getTitleBar(window);
+		if (titleBar != null) {
+			return "'" + ObjectUtil.getString(titleBar, "getLWWindow().getTitle()") + "'";
+		}
+		if (window instanceof Dialog) {
+			return "'" + ((Dialog) window).getTitle() + "'";
+		}
+		return "";
 	}
 }
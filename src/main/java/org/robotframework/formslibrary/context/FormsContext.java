@@ -3,6 +3,9 @@ package org.robotframework.formslibrary.context;
 import java.awt.Component;
 import java.awt.Dialog;
 import java.awt.Window;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.robotframework.formslibrary.operator.FrameOperator;
 import org.robotframework.formslibrary.util.ComponentUtil;
@@ -22,6 +25,24 @@ public class FormsContext {
 
 	private static Boolean isFormServicesApp = null;
 
+	/**
+	 * Epoch which is incremented every time the context component is added to
+	 * or removed from a parent, or its window is disposed.
+	 */
+	private static final AtomicInteger contextEpoch = new AtomicInteger();
+
+	private static final HierarchyListener CONTEXT_LISTENER = new HierarchyListener() {
+		@Override
+		public void hierarchyChanged(HierarchyEvent e) {
+			if ((e.getChangeFlags() & (HierarchyEvent.PARENT_CHANGED | HierarchyEvent.DISPLAYABILITY_CHANGED)) != 0) {
+				contextEpoch.incrementAndGet();
+			}
+		}
+	};
+
+	private static Component validatedComponent;
+	private static int validatedEpoch;
+
 	public static void setContext(ComponentWrapper operator) {
 		context = operator;
 		// TODO remove swing library context dependency if possible
@@ -44,12 +65,21 @@ public class FormsContext {
 
 			Component contextComponent = Context.getContext().getSource();
 
-			// verify that the current window context is still part of the
-			// desktop
-			if (!new FrameOperator().containsComponent(contextComponent) && !isActiveDialog(context)) {
-				Logger.info("Context " + ComponentUtil.getFormattedComponentNames(contextComponent) + " is no longer part of desktop.");
-				resetContext();
-				return context;
+			// the context only needs to be verified again when it changed
+			if (contextComponent != validatedComponent || validatedEpoch != contextEpoch.get()) {
+
+				watchContext(contextComponent);
+				int epoch = contextEpoch.get();
+
+				// verify that the current window context is still part of the
+				// desktop
+				if (!new FrameOperator().containsComponent(contextComponent) && !isActiveDialog(context)) {
+					Logger.info("Context " + ComponentUtil.getFormattedComponentNames(contextComponent) + " is no longer part of desktop.");
+					resetContext();
+					return context;
+				}
+
+				validatedEpoch = epoch;
 			}
 
 			// verify the type of context
@@ -65,6 +95,20 @@ public class FormsContext {
 		return context;
 	}
 
+	/**
+	 * Listen for hierarchy changes of the context component, which could
+	 * detach it from the desktop.
+	 */
+	private static void watchContext(Component contextComponent) {
+		if (contextComponent != validatedComponent) {
+			if (validatedComponent != null) {
+				validatedComponent.removeHierarchyListener(CONTEXT_LISTENER);
+			}
+			contextComponent.addHierarchyListener(CONTEXT_LISTENER);
+			validatedComponent = contextComponent;
+		}
+	}
+
 	private static boolean isActiveDialog(ComponentWrapper context) {
 		Component source = context.getSource();
 		if (source instanceof Dialog) {
@@ -0,0 +1,247 @@
+package org.robotframework.formslibrary.context;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.event.ContainerAdapter;
+import java.awt.event.ContainerEvent;
+import java.awt.event.ContainerListener;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.robotframework.formslibrary.util.ComponentType;
+import org.robotframework.formslibrary.util.ObjectUtil;
+import org.robotframework.formslibrary.util.TextUtil;
+
+/**
+ * Registry of the oracle forms (LW) windows in a forms desktop. The frames of
+ * the windows, their title bars and the LWWindow objects are tracked using
+ * container listeners on the desktop and on the frames, so they don't have to
+ * be looked up again for every window query.
+ *
+ * Oracle Forms can change window titles without any event, so the titles are
+ * read again from the cached LWWindow objects when the registry is refreshed.
+ *
+ * The registered frames reference the desktop through their parents, so the
+ * registry cannot rely on weak keys alone: registries are dropped as soon as
+ * their desktop is no longer displayable.
+ */
+public class LWWindowRegistry {
+
+	private static final Map<Container, LWWindowRegistry> REGISTRIES = new WeakHashMap<Container, LWWindowRegistry>();
+
+	private final WeakReference<Container> desktop;
+
+	private volatile boolean structureChanged = true;
+
+	/**
+	 * Windows in z-order, the top window first.
+	 */
+	private List<LWWindow> windows = new ArrayList<LWWindow>();
+
+	private final Map<Component, LWWindow> byFrame = new IdentityHashMap<Component, LWWindow>();
+
+	/**
+	 * Windows by normalized title.
+	 */
+	private final Map<String, LWWindow> byTitle = new HashMap<String, LWWindow>();
+
+	private final ContainerListener structureListener = new ContainerAdapter() {
+
+		@Override
+		public void componentAdded(ContainerEvent e) {
+			structureChanged = true;
+		}
+
+		@Override
+		public void componentRemoved(ContainerEvent e) {
+			structureChanged = true;
+			synchronized (REGISTRIES) {
+				evictClosedRegistries();
+			}
+		}
+	};
+
+	/**
+	 * A single oracle forms window.
+	 */
+	public static class LWWindow {
+
+		private final Container frame;
+		private Component titleBar;
+		private Object lwWindow;
+		private String title;
+		private int zOrder;
+
+		private LWWindow(Container frame) {
+			this.frame = frame;
+		}
+
+		/**
+		 * @return ExtendedFrame containing the window.
+		 */
+		public Container getFrame() {
+			return frame;
+		}
+
+		/**
+		 * @return window title, as read during the last refresh.
+		 */
+		public String getTitle() {
+			return title;
+		}
+
+		public boolean isVisible() {
+			return frame.isVisible();
+		}
+
+		/**
+		 * @return position of the window in the desktop, 0 for the top window.
+		 */
+		public int getZOrder() {
+			return zOrder;
+		}
+	}
+
+	private LWWindowRegistry(Container desktop) {
+		this.desktop = new WeakReference<Container>(desktop);
+		desktop.addContainerListener(structureListener);
+	}
+
+	/**
+	 * Get the window registry for the given forms desktop.
+	 */
+	public static LWWindowRegistry getRegistry(Container desktop) {
+		synchronized (REGISTRIES) {
+			evictClosedRegistries();
+			LWWindowRegistry registry = REGISTRIES.get(desktop);
+			if (registry == null) {
+				registry = new LWWindowRegistry(desktop);
+				REGISTRIES.put(desktop, registry);
+			}
+			return registry;
+		}
+	}
+
+	/**
+	 * Drop the registries of desktops which are no longer displayable, so
+	 * their windows can be garbage collected. Must be called while holding the
+	 * REGISTRIES lock.
+	 */
+	private static void evictClosedRegistries() {
+		Iterator<LWWindowRegistry> iterator = REGISTRIES.values().iterator();
+		while (iterator.hasNext()) {
+			Container container = iterator.next().desktop.get();
+			if (container == null || !container.isDisplayable()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Get all the windows with a title bar, top window first. The window
+	 * titles are read again before they are returned.
+	 */
+	public synchronized List<LWWindow> getWindows() {
+		refresh();
+		return Collections.unmodifiableList(new ArrayList<LWWindow>(windows));
+	}
+
+	/**
+	 * Find the first window in z-order with a matching title. The title can
+	 * end with a '*' wildcard.
+	 *
+	 * @return window or null if there is no window with the title.
+	 */
+	public synchronized LWWindow findWindow(String title) {
+
+		refresh();
+
+		String key = title == null ? "" : title.toLowerCase().trim();
+		if (!key.endsWith("*")) {
+			return byTitle.get(key);
+		}
+
+		for (LWWindow window : windows) {
+			if (TextUtil.matches(window.title, title)) {
+				return window;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Synchronize the windows with the desktop when frames or title bars were
+	 * added or removed, and read the current window titles.
+	 */
+	private void refresh() {
+
+		if (structureChanged) {
+			structureChanged = false;
+			synchronizeWindows();
+		}
+
+		byTitle.clear();
+		for (LWWindow window : windows) {
+			window.title = window.lwWindow == null ? null : ObjectUtil.getString(window.lwWindow, "getTitle()");
+			String key = window.title == null ? "" : window.title.toLowerCase().trim();
+			if (!byTitle.containsKey(key)) {
+				byTitle.put(key, window);
+			}
+		}
+	}
+
+	private void synchronizeWindows() {
+
+		Container container = desktop.get();
+		if (container == null) {
+			windows = new ArrayList<LWWindow>();
+			return;
+		}
+
+		List<LWWindow> currentWindows = new ArrayList<LWWindow>();
+		Map<Component, LWWindow> removedWindows = new IdentityHashMap<Component, LWWindow>(byFrame);
+
+		for (Component component : container.getComponents()) {
+			if (!(component instanceof Container)) {
+				continue;
+			}
+			LWWindow window = removedWindows.remove(component);
+			if (window == null) {
+				window = new LWWindow((Container) component);
+				window.frame.addContainerListener(structureListener);
+				byFrame.put(component, window);
+			}
+			if (window.titleBar == null || window.titleBar.getParent() != window.frame) {
+				window.titleBar = findTitleBar(window.frame);
+				window.lwWindow = window.titleBar == null ? null : ObjectUtil.invokeMethod(window.titleBar, "getLWWindow()");
+			}
+			if (window.titleBar != null) {
+				window.zOrder = currentWindows.size();
+				currentWindows.add(window);
+			}
+		}
+
+		for (LWWindow window : removedWindows.values()) {
+			window.frame.removeContainerListener(structureListener);
+			byFrame.remove(window.frame);
+		}
+
+		windows = currentWindows;
+	}
+
+	private static Component findTitleBar(Container frame) {
+		for (Component child : frame.getComponents()) {
+			if (ComponentType.TITLE_BAR.matches(child)) {
+				return child;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,172 @@
+package org.robotframework.formslibrary.context;
+
+import java.awt.Component;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Index of components by their location in the window. Components are grouped
+ * in rows by their y coordinate and in columns by their x coordinate, so
+ * components in the same row, next to or below each other can be found with
+ * range queries instead of comparing every pair of components.
+ */
+public class SpatialIndex {
+
+	/**
+	 * Maximum vertical offset in pixels between components in the same row.
+	 */
+	public static final int ROW_TOLERANCE = 2;
+
+	/**
+	 * Maximum horizontal gap in pixels between adjacent components.
+	 */
+	public static final int MAX_ADJACENT_GAP = 14;
+
+	/**
+	 * Maximum horizontal overlap in pixels between adjacent components.
+	 */
+	public static final int MAX_ADJACENT_OVERLAP = 2;
+
+	private final ComponentIndex index;
+
+	private final Map<Component, Point> locations = new IdentityHashMap<Component, Point>();
+
+	/**
+	 * Components by y coordinate, sorted by x coordinate.
+	 */
+	private final TreeMap<Integer, List<Component>> rows = new TreeMap<Integer, List<Component>>();
+
+	/**
+	 * Components by x coordinate, sorted by y coordinate.
+	 */
+	private final TreeMap<Integer, List<Component>> columns = new TreeMap<Integer, List<Component>>();
+
+	private final Comparator<Component> byX = new Comparator<Component>() {
+		@Override
+		public int compare(Component c1, Component c2) {
+			return Integer.compare(locations.get(c1).x, locations.get(c2).x);
+		}
+	};
+
+	private final Comparator<Component> byY = new Comparator<Component>() {
+		@Override
+		public int compare(Component c1, Component c2) {
+			return Integer.compare(locations.get(c1).y, locations.get(c2).y);
+		}
+	};
+
+	/**
+	 * Create a spatial index for the given components.
+	 *
+	 * @param index
+	 *            component index used to resolve the window locations.
+	 */
+	public SpatialIndex(Collection<Component> components, ComponentIndex index) {
+
+		this.index = index;
+
+		for (Component component : components) {
+			Point location = index.getLocationInWindow(component);
+			locations.put(component, location);
+			add(rows, location.y, component);
+			add(columns, location.x, component);
+		}
+
+		for (List<Component> row : rows.values()) {
+			Collections.sort(row, byX);
+		}
+		for (List<Component> column : columns.values()) {
+			Collections.sort(column, byY);
+		}
+	}
+
+	private static void add(Map<Integer, List<Component>> buckets, int key, Component component) {
+		List<Component> bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new ArrayList<Component>();
+			buckets.put(key, bucket);
+		}
+		bucket.add(component);
+	}
+
+	/**
+	 * Get the location of a component relative to its window. The component
+	 * doesn't need to be part of this index.
+	 */
+	public Point getLocation(Component component) {
+		Point location = locations.get(component);
+		if (location == null) {
+			return index.getLocationInWindow(component);
+		}
+		return new Point(location);
+	}
+
+	/**
+	 * Find all indexed components which are vertically aligned with the given
+	 * component, sorted from left to right.
+	 */
+	public List<Component> getRow(Component component) {
+
+		int y = getLocation(component).y;
+		List<Component> result = new ArrayList<Component>();
+		for (List<Component> row : rows.subMap(y - ROW_TOLERANCE, true, y + ROW_TOLERANCE, true).values()) {
+			result.addAll(row);
+		}
+		Collections.sort(result, byX);
+		return result;
+	}
+
+	/**
+	 * Find all indexed components which are located directly to the right of
+	 * the given component.
+	 */
+	public List<Component> getAdjacent(Component component) {
+
+		Point location = getLocation(component);
+		int minX = location.x + component.getWidth() - MAX_ADJACENT_OVERLAP;
+		int maxX = location.x + component.getWidth() + MAX_ADJACENT_GAP;
+
+		List<Component> result = new ArrayList<Component>();
+		for (List<Component> row : rows.subMap(location.y - ROW_TOLERANCE, true, location.y + ROW_TOLERANCE, true).values()) {
+			for (Component candidate : row) {
+				int x = locations.get(candidate).x;
+				if (x > maxX) {
+					break;
+				}
+				if (x >= minX) {
+					result.add(candidate);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Find all indexed components with the given x coordinate and a y
+	 * coordinate in the given range (inclusive), sorted from top to bottom.
+	 */
+	public List<Component> getColumn(int x, int minY, int maxY) {
+
+		List<Component> result = new ArrayList<Component>();
+		List<Component> column = columns.get(x);
+		if (column != null) {
+			for (Component candidate : column) {
+				int y = locations.get(candidate).y;
+				if (y > maxY) {
+					break;
+				}
+				if (y >= minY) {
+					result.add(candidate);
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,162 @@
+package org.robotframework.formslibrary.context;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Dialog;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ContainerEvent;
+import java.awt.event.WindowEvent;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.robotframework.formslibrary.util.ComponentType;
+
+/**
+ * Journal of windows being opened and closed. Every entry gets a sequence
+ * number, so a reader can get exactly the entries recorded since a previous
+ * point in time, including windows which were opened and closed in between.
+ *
+ * Oracle forms windows are recorded when their frame is added to or removed
+ * from the forms desktop, or when it is shown or hidden. Dialogs are recorded
+ * when they are opened or closed.
+ *
+ * The journal only references the windows weakly, so closed windows can still
+ * be garbage collected.
+ */
+public class WindowJournal {
+
+	private static final long EVENT_MASK = AWTEvent.CONTAINER_EVENT_MASK | AWTEvent.COMPONENT_EVENT_MASK | AWTEvent.WINDOW_EVENT_MASK;
+
+	/**
+	 * Maximum number of entries kept in the journal.
+	 */
+	private static final int MAX_ENTRIES = 1000;
+
+	private static final Deque<Entry> entries = new ArrayDeque<Entry>();
+
+	private static long sequence = 0;
+
+	private static boolean listening = false;
+
+	/**
+	 * A window being opened or closed.
+	 */
+	public static class Entry {
+
+		private final long sequence;
+		private final WeakReference<Component> window;
+		private final boolean dialog;
+		private final boolean opened;
+		private final long time;
+
+		private Entry(long sequence, Component window, boolean opened) {
+			this.sequence = sequence;
+			this.window = new WeakReference<Component>(window);
+			this.dialog = window instanceof Dialog;
+			this.opened = opened;
+			this.time = System.currentTimeMillis();
+		}
+
+		public long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * @return frame of the oracle forms window, or the dialog. Null if the
+		 *         window was garbage collected.
+		 */
+		public Component getWindow() {
+			return window.get();
+		}
+
+		/**
+		 * @return true if the window was opened, false if it was closed.
+		 */
+		public boolean isOpened() {
+			return opened;
+		}
+
+		public long getTime() {
+			return time;
+		}
+
+		public boolean isDialog() {
+			return dialog;
+		}
+	}
+
+	/**
+	 * Get the sequence number of the last entry. Starts recording window
+	 * changes if the journal was not recording yet.
+	 */
+	public static synchronized long getSequence() {
+		startListening();
+		return sequence;
+	}
+
+	/**
+	 * Get all entries recorded after the entry with the given sequence number,
+	 * in the order in which they were recorded.
+	 */
+	public static synchronized List<Entry> getEntriesSince(long sequenceNumber) {
+		List<Entry> result = new ArrayList<Entry>();
+		for (Entry entry : entries) {
+			if (entry.sequence > sequenceNumber) {
+				result.add(entry);
+			}
+		}
+		return result;
+	}
+
+	private static void startListening() {
+		if (!listening) {
+			Toolkit.getDefaultToolkit().addAWTEventListener(new AWTEventListener() {
+				@Override
+				public void eventDispatched(AWTEvent event) {
+					handleEvent(event);
+				}
+			}, EVENT_MASK);
+			listening = true;
+		}
+	}
+
+	private static void handleEvent(AWTEvent event) {
+
+		switch (event.getID()) {
+		case ContainerEvent.COMPONENT_ADDED:
+		case ContainerEvent.COMPONENT_REMOVED:
+			ContainerEvent containerEvent = (ContainerEvent) event;
+			if (ComponentType.FORM_DESKTOP.matches(containerEvent.getContainer())) {
+				record(containerEvent.getChild(), event.getID() == ContainerEvent.COMPONENT_ADDED);
+			}
+			break;
+		case ComponentEvent.COMPONENT_SHOWN:
+		case ComponentEvent.COMPONENT_HIDDEN:
+			Component component = ((ComponentEvent) event).getComponent();
+			if (component.getParent() != null && ComponentType.FORM_DESKTOP.matches(component.getParent())) {
+				record(component, event.getID() == ComponentEvent.COMPONENT_SHOWN);
+			}
+			break;
+		case WindowEvent.WINDOW_OPENED:
+		case WindowEvent.WINDOW_CLOSED:
+			if (event.getSource() instanceof Dialog) {
+				record((Component) event.getSource(), event.getID() == WindowEvent.WINDOW_OPENED);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private static synchronized void record(Component window, boolean opened) {
+		entries.addLast(new Entry(++sequence, window, opened));
+		if (entries.size() > MAX_ENTRIES) {
+			entries.removeFirst();
+		}
+	}
+}
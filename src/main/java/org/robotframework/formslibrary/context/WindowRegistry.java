@@ -0,0 +1,310 @@
+package org.robotframework.formslibrary.context;
+
+import java.awt.AWTEvent;
+import java.awt.Frame;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.AWTEventListener;
+import java.awt.event.WindowEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.robotframework.formslibrary.util.TextUtil;
+
+import sun.awt.AppContext;
+import sun.awt.SunToolkit;
+
+/**
+ * Registry of the open frames by title. Frames are registered when they are
+ * opened and removed when they are closed, using an AWTEventListener. The
+ * listener is registered on the toolkit, so it keeps receiving the window
+ * events when Java Web Start starts the application in a new AppContext.
+ *
+ * Frames which were opened before the registry was used are found by scanning
+ * the window list of the current AppContext when a title is not registered.
+ *
+ * Lookups only return frames of the caller's AppContext, so the frames of an
+ * application which was replaced by Java Web Start are never used. When
+ * multiple frames match, the most recently opened one is returned. Titles are
+ * matched case insensitive, like TextUtil.matches does.
+ */
+@SuppressWarnings("restriction")
+public class WindowRegistry {
+
+	private static final List<String> DEFAULT_ROOT_FRAME_TITLES = Arrays.asList("Visma Fivaldi", "Main0");
+
+	private static final List<String> rootFrameTitles = new CopyOnWriteArrayList<String>(DEFAULT_ROOT_FRAME_TITLES);
+
+	/**
+	 * Registered frames by normalized title.
+	 */
+	private static final Map<String, List<Registration>> framesByTitle = new HashMap<String, List<Registration>>();
+
+	private static long sequence = 0;
+
+	private static WeakReference<Frame> rootFrame = new WeakReference<Frame>(null);
+
+	private static boolean listening = false;
+
+	/**
+	 * A frame with the order in which it was registered.
+	 */
+	private static class Registration {
+
+		private final WeakReference<Frame> frame;
+		private final long sequence;
+
+		private Registration(Frame frame, long sequence) {
+			this.frame = new WeakReference<Frame>(frame);
+			this.sequence = sequence;
+		}
+	}
+
+	private static final PropertyChangeListener TITLE_LISTENER = new PropertyChangeListener() {
+		@Override
+		public void propertyChange(PropertyChangeEvent evt) {
+			Frame frame = (Frame) evt.getSource();
+			synchronized (WindowRegistry.class) {
+				unregister(frame, (String) evt.getOldValue());
+				register(frame);
+			}
+		}
+	};
+
+	/**
+	 * Set the title patterns of the frames which can be used as root context.
+	 * Patterns are matched in order and can end with a '*' wildcard.
+	 */
+	public static synchronized void setRootFrameTitles(List<String> titles) {
+		rootFrameTitles.clear();
+		rootFrameTitles.addAll(titles);
+		rootFrame = new WeakReference<Frame>(null);
+	}
+
+	/**
+	 * @return title patterns of the frames which can be used as root context.
+	 */
+	public static List<String> getRootFrameTitles() {
+		return Collections.unmodifiableList(rootFrameTitles);
+	}
+
+	/**
+	 * Find the root frame. The first root frame title pattern with a matching
+	 * open frame determines the root frame.
+	 *
+	 * @return root frame or null if no root frame is open.
+	 */
+	public static synchronized Frame getRootFrame() {
+
+		Frame frame = rootFrame.get();
+		if (frame != null && frame.isDisplayable() && isRootFrameTitle(frame.getTitle())
+				&& SunToolkit.targetToAppContext(frame) == AppContext.getAppContext()) {
+			return frame;
+		}
+
+		for (String title : rootFrameTitles) {
+			frame = getFrame(title);
+			if (frame != null) {
+				rootFrame = new WeakReference<Frame>(frame);
+				return frame;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isRootFrameTitle(String title) {
+		for (String pattern : rootFrameTitles) {
+			if (TextUtil.matches(title, pattern)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Find an open frame of the current AppContext by title. The title can end
+	 * with a '*' wildcard.
+	 *
+	 * @return most recently opened frame with the title, or null if no frame
+	 *         with the title is open.
+	 */
+	public static synchronized Frame getFrame(String title) {
+
+		startListening();
+
+		Frame frame = getRegisteredFrame(title);
+		if (frame == null) {
+			registerAppContextFrames();
+			frame = getRegisteredFrame(title);
+		}
+		return frame;
+	}
+
+	/**
+	 * Check if a frame with the given title is part of the window list of the
+	 * current AppContext.
+	 */
+	public static boolean isInCurrentAppContext(String title) {
+		for (Frame frame : getAppContextFrames()) {
+			if (TextUtil.matches(frame.getTitle(), title)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check if one of the root frames is part of the window list of the current
+	 * AppContext.
+	 */
+	public static boolean isRootFrameInCurrentAppContext() {
+		for (String title : rootFrameTitles) {
+			if (isInCurrentAppContext(title)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Frame getRegisteredFrame(String title) {
+
+		AppContext appContext = AppContext.getAppContext();
+		Registration result = null;
+
+		if (title.endsWith("*")) {
+			for (Map.Entry<String, List<Registration>> entry : framesByTitle.entrySet()) {
+				if (TextUtil.matches(entry.getKey(), title)) {
+					result = getLatestOpenFrame(entry.getValue(), appContext, result);
+				}
+			}
+		} else {
+			List<Registration> frames = framesByTitle.get(normalize(title));
+			if (frames != null) {
+				result = getLatestOpenFrame(frames, appContext, null);
+			}
+		}
+		return result == null ? null : result.frame.get();
+	}
+
+	/**
+	 * Find the most recently registered displayable frame of the AppContext in
+	 * the list, removing the frames which don't exist anymore.
+	 *
+	 * @return the found frame or the given latest frame, whichever was
+	 *         registered last.
+	 */
+	private static Registration getLatestOpenFrame(List<Registration> frames, AppContext appContext, Registration latest) {
+		Iterator<Registration> iterator = frames.iterator();
+		while (iterator.hasNext()) {
+			Registration registration = iterator.next();
+			Frame frame = registration.frame.get();
+			if (frame == null) {
+				iterator.remove();
+			} else if (frame.isDisplayable() && SunToolkit.targetToAppContext(frame) == appContext
+					&& (latest == null || registration.sequence > latest.sequence)) {
+				latest = registration;
+			}
+		}
+		return latest;
+	}
+
+	private static void startListening() {
+		if (!listening) {
+			Toolkit.getDefaultToolkit().addAWTEventListener(new AWTEventListener() {
+				@Override
+				public void eventDispatched(AWTEvent event) {
+					if (event.getSource() instanceof Frame) {
+						Frame frame = (Frame) event.getSource();
+						synchronized (WindowRegistry.class) {
+							if (event.getID() == WindowEvent.WINDOW_OPENED) {
+								register(frame);
+							} else if (event.getID() == WindowEvent.WINDOW_CLOSED) {
+								unregister(frame, frame.getTitle());
+							}
+						}
+					}
+				}
+			}, AWTEvent.WINDOW_EVENT_MASK);
+			listening = true;
+		}
+	}
+
+	private static void register(Frame frame) {
+		String title = frame.getTitle();
+		if (title == null) {
+			return;
+		}
+		String key = normalize(title);
+		List<Registration> frames = framesByTitle.get(key);
+		if (frames == null) {
+			frames = new ArrayList<Registration>();
+			framesByTitle.put(key, frames);
+		}
+		for (Registration registration : frames) {
+			if (registration.frame.get() == frame) {
+				return;
+			}
+		}
+		frames.add(new Registration(frame, ++sequence));
+
+		// a newer frame may take over as root frame
+		rootFrame = new WeakReference<Frame>(null);
+
+		// keep the registry up to date when the title changes
+		frame.removePropertyChangeListener("title", TITLE_LISTENER);
+		frame.addPropertyChangeListener("title", TITLE_LISTENER);
+	}
+
+	private static void unregister(Frame frame, String title) {
+		String key = normalize(title);
+		List<Registration> frames = framesByTitle.get(key);
+		if (frames != null) {
+			Iterator<Registration> iterator = frames.iterator();
+			while (iterator.hasNext()) {
+				Frame registeredFrame = iterator.next().frame.get();
+				if (registeredFrame == null || registeredFrame == frame) {
+					iterator.remove();
+				}
+			}
+			if (frames.isEmpty()) {
+				framesByTitle.remove(key);
+			}
+		}
+	}
+
+	private static String normalize(String title) {
+		return title == null ? "" : title.toLowerCase().trim();
+	}
+
+	private static void registerAppContextFrames() {
+		for (Frame frame : getAppContextFrames()) {
+			register(frame);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Frame> getAppContextFrames() {
+
+		List<Frame> frames = new ArrayList<Frame>();
+		Vector<WeakReference<Window>> windowList = (Vector<WeakReference<Window>>) AppContext.getAppContext().get(Window.class);
+		if (windowList != null) {
+			for (int i = 0; i < windowList.size(); i++) {
+				Window w = windowList.get(i).get();
+				if (w instanceof Frame) {
+					frames.add((Frame) w);
+				}
+			}
+		}
+		return frames;
+	}
+}
@@ -1,18 +1,18 @@
 package org.robotframework.formslibrary.keyword;
 
 import java.awt.Component;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.robotframework.formslibrary.FormsLibraryException;
-import org.robotframework.formslibrary.chooser.ByComponentTypeChooser;
-import org.robotframework.formslibrary.context.FormsContext;
+import org.robotframework.formslibrary.context.AlertWatcher;
+import org.robotframework.formslibrary.context.AlertWatcher.Alert;
 import org.robotframework.formslibrary.operator.AlertOperator;
-import org.robotframework.formslibrary.operator.ContextOperator;
-import org.robotframework.formslibrary.util.ComponentType;
 import org.robotframework.formslibrary.util.Logger;
 import org.robotframework.formslibrary.util.TextUtil;
 import org.robotframework.javalib.annotation.ArgumentNames;
 import org.robotframework.javalib.annotation.RobotKeyword;
+import org.robotframework.javalib.annotation.RobotKeywordOverload;
 import org.robotframework.javalib.annotation.RobotKeywords;
 
 @RobotKeywords
@@ -31,19 +31,84 @@ public class AlertKeywords {
 
     @RobotKeyword("Get the message on an alert dialog. Example:\n\n | ${alertMessage}= | Get Alert Message |\n")
     public String getAlertMessage() {
+        Component pane = AlertWatcher.getShowingPane();
+        if (pane != null) {
+            return new AlertOperator(pane).getAlertMessage();
+        }
         return new AlertOperator().getAlertMessage();
     }
 
     @RobotKeyword("Verify no alert dialog is shown.")
     public void verifyNoAlertIsShown() {
 
-        List<Component> panes = new ContextOperator(FormsContext.getRootContext())
-                .findComponents(new ByComponentTypeChooser(-1, ComponentType.ALERT_PANE));
-        if (panes.isEmpty()) {
+        Component pane = AlertWatcher.getShowingPane();
+        if (pane == null) {
             Logger.info("No alert dialog found.");
         } else {
-            String alertMessage = new AlertOperator(panes.get(0)).getAlertMessage();
+            String alertMessage = new AlertOperator(pane).getAlertMessage();
             throw new FormsLibraryException("Alert message '" + alertMessage + "' was not expected.");
         }
     }
+
+    @RobotKeyword("Get all alerts which appeared since the alert queue was last read, and clear the queue. "
+            + "Every alert is returned as its time, the keyword which was running and the message.\n\n"
+            + "Example:\n | ${alerts}= | Get Queued Alerts |\n")
+    public List<String> getQueuedAlerts() {
+        List<String> result = new ArrayList<String>();
+        for (Alert alert : AlertWatcher.takeAlerts()) {
+            Logger.info("Found alert " + alert);
+            result.add(alert.toString());
+        }
+        return result;
+    }
+
+    @RobotKeyword("Verify that no alerts appeared since the alert queue was last read, and clear the queue. "
+            + "The failure message names the keyword during which each alert appeared.\n\n" + "Example:\n | Verify No Queued Alerts |\n")
+    public void verifyNoQueuedAlerts() {
+        List<Alert> alerts = AlertWatcher.takeAlerts();
+        if (!alerts.isEmpty()) {
+            StringBuilder message = new StringBuilder("Unexpected alerts:");
+            for (Alert alert : alerts) {
+                message.append("\n").append(alert);
+            }
+            throw new FormsLibraryException(message.toString());
+        }
+        Logger.info("No alerts queued.");
+    }
+
+    @RobotKeyword("Remove all alerts from the alert queue.\n\n" + "Example:\n | Clear Queued Alerts |\n")
+    public void clearQueuedAlerts() {
+        AlertWatcher.takeAlerts();
+    }
+
+    @RobotKeyword("Dismiss the alert dialog which is shown by pushing the button with the given label, or the first button "
+            + "when no label is given.\n\n" + "Example:\n | Dismiss Alert |\n | Dismiss Alert | _Cancel_ |\n")
+    @ArgumentNames({ "button=" })
+    public void dismissAlert(String button) {
+        Component pane = AlertWatcher.getShowingPane();
+        if (pane == null) {
+            throw new FormsLibraryException("No alert dialog found.");
+        }
+        if (!AlertWatcher.dismiss(pane, button)) {
+            throw new FormsLibraryException("No button found to dismiss alert '" + new AlertOperator(pane).getAlertMessage() + "'.");
+        }
+    }
+
+    @RobotKeywordOverload
+    public void dismissAlert() {
+        dismissAlert(null);
+    }
+
+    @RobotKeyword("Automatically dismiss every alert dialog as soon as it appears, by pushing the button with the given label "
+            + "or the first button when no label is given. Dismissed alerts are still queued.\n\n"
+            + "Example:\n | Set Alert Auto Dismiss | _true_ |\n | Set Alert Auto Dismiss | _true_ | _OK_ |\n")
+    @ArgumentNames({ "enabled", "button=" })
+    public void setAlertAutoDismiss(boolean enabled, String button) {
+        AlertWatcher.setAutoDismiss(enabled, button);
+    }
+
+    @RobotKeywordOverload
+    public void setAlertAutoDismiss(boolean enabled) {
+        setAlertAutoDismiss(enabled, null);
+    }
 }
@@ -0,0 +1,62 @@
+package org.robotframework.formslibrary.keyword;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.robotframework.formslibrary.util.AsyncActionExecutor;
+import org.robotframework.formslibrary.util.AsyncActionExecutor.Action;
+import org.robotframework.formslibrary.util.Logger;
+import org.robotframework.javalib.annotation.ArgumentNames;
+import org.robotframework.javalib.annotation.RobotKeyword;
+import org.robotframework.javalib.annotation.RobotKeywordOverload;
+import org.robotframework.javalib.annotation.RobotKeywords;
+
+@RobotKeywords
+public class AsyncActionKeywords {
+
+	@RobotKeyword("Wait until an async action is finished. Fails if the action threw an exception or did not finish "
+			+ "within the timeout. Timeout is in ms and defaults to 10000.\n\n" + "Example:\n"
+			+ "| ${action}= | Click Button Async | _OK_ |\n" + "| Wait For Async Action | ${action} |\n")
+	@ArgumentNames({ "id", "timeout=" })
+	public void waitForAsyncAction(int id, int timeout) {
+		AsyncActionExecutor.await(id, timeout);
+		Logger.info("Async action " + id + " finished.");
+	}
+
+	@RobotKeywordOverload
+	public void waitForAsyncAction(int id) {
+		waitForAsyncAction(id, 10000);
+	}
+
+	@RobotKeyword("Get the exceptions of the async actions which failed since the last call.\n\n" + "Example:\n"
+			+ "| ${errors}= | Get Async Action Errors |\n")
+	public List<String> getAsyncActionErrors() {
+		List<String> errors = new ArrayList<String>();
+		for (Action action : AsyncActionExecutor.takeFailedActions()) {
+			Logger.info("Async action " + action);
+			errors.add(action.toString());
+		}
+		return errors;
+	}
+
+	@RobotKeyword("List the async actions which are queued or running.\n\n" + "Example:\n" + "| ${actions}= | List Async Actions |\n")
+	public List<String> listAsyncActions() {
+		List<String> actions = new ArrayList<String>();
+		for (Action action : AsyncActionExecutor.getActiveActions()) {
+			Logger.info(action.toString());
+			actions.add(action.toString());
+		}
+		return actions;
+	}
+
+	@RobotKeyword("Prints the number of async actions, their average and maximum duration and the async action queue depth.\n\n"
+			+ "| Log Async Action Metrics |\n")
+	public void logAsyncActionMetrics() {
+		Logger.info(AsyncActionExecutor.getMetrics());
+	}
+
+	@RobotKeyword("Clear the async action metrics.\n\n" + "| Reset Async Action Metrics |\n")
+	public void resetAsyncActionMetrics() {
+		AsyncActionExecutor.resetMetrics();
+	}
+}
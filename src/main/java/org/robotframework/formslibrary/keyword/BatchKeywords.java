@@ -0,0 +1,99 @@
+package org.robotframework.formslibrary.keyword;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.robotframework.formslibrary.FormsLibrary;
+import org.robotframework.formslibrary.FormsLibraryException;
+import org.robotframework.formslibrary.util.Logger;
+import org.robotframework.javalib.annotation.ArgumentNames;
+import org.robotframework.javalib.annotation.RobotKeyword;
+import org.robotframework.javalib.annotation.RobotKeywords;
+
+@RobotKeywords
+public class BatchKeywords {
+
+	private static final String SEPARATOR = "AND";
+
+	private static FormsLibrary library;
+
+	/**
+	 * Register the library which runs the keywords of a batch.
+	 */
+	public static void setLibrary(FormsLibrary formsLibrary) {
+		library = formsLibrary;
+	}
+
+	@RobotKeyword("Run multiple forms library keywords in a single call. Keywords are separated by AND, like in the BuiltIn "
+			+ "Run Keywords keyword, and run one after the other in the application. The batch stops at the first keyword which fails "
+			+ "and the keyword fails with the error of that step. Every step is logged with its duration.\n\n"
+			+ "Returns a list with for every step the keyword name, the duration in ms and the return value.\n\n" + "Example:\n"
+			+ "| Run Forms Keywords | Set Field | _username_ | _jeff_ | AND | Set Field | _password_ | _secret_ | AND | Click Button | _OK_ |\n")
+	@ArgumentNames({ "*keywordsAndArguments" })
+	public List<List<Object>> runFormsKeywords(String... keywordsAndArguments) {
+
+		if (library == null) {
+			throw new FormsLibraryException("Forms library not initialized.");
+		}
+
+		List<List<String>> steps = splitSteps(keywordsAndArguments);
+		List<List<Object>> results = new ArrayList<List<Object>>();
+		long batchStart = System.nanoTime();
+
+		for (int i = 0; i < steps.size(); i++) {
+
+			List<String> step = steps.get(i);
+			String keyword = step.get(0);
+			Object[] arguments = step.subList(1, step.size()).toArray();
+
+			long start = System.nanoTime();
+			Object result;
+			try {
+				result = library.runKeyword(keyword, arguments);
+			} catch (RuntimeException e) {
+				long elapsed = toMillis(System.nanoTime() - start);
+				Logger.info("Step " + (i + 1) + " " + keyword + " FAIL " + elapsed + " ms");
+				throw new FormsLibraryException("Step " + (i + 1) + " '" + keyword + "' failed: " + e.getMessage(), e);
+			}
+
+			long elapsed = toMillis(System.nanoTime() - start);
+			Logger.info("Step " + (i + 1) + " " + keyword + " PASS " + elapsed + " ms");
+			results.add(Arrays.asList(keyword, elapsed, result == null ? "" : result));
+		}
+
+		Logger.info("Ran " + steps.size() + " keywords in " + toMillis(System.nanoTime() - batchStart) + " ms.");
+		return results;
+	}
+
+	/**
+	 * Split the arguments on the AND separator into keyword invocations, each
+	 * starting with the keyword name.
+	 */
+	private static List<List<String>> splitSteps(String[] keywordsAndArguments) {
+
+		List<List<String>> steps = new ArrayList<List<String>>();
+		List<String> step = new ArrayList<String>();
+		for (String argument : keywordsAndArguments) {
+			if (SEPARATOR.equals(argument)) {
+				if (step.isEmpty()) {
+					throw new FormsLibraryException("Missing keyword before " + SEPARATOR + ".");
+				}
+				steps.add(step);
+				step = new ArrayList<String>();
+			} else {
+				step.add(argument);
+			}
+		}
+
+		if (step.isEmpty()) {
+			throw new FormsLibraryException("Missing keyword after " + SEPARATOR + ".");
+		}
+		steps.add(step);
+		return steps;
+	}
+
+	private static long toMillis(long nanos) {
+		return nanos / 1000000;
+	}
+}
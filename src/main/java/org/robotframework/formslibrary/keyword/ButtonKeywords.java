@@ -33,13 +33,15 @@ public class ButtonKeywords {
 		clickButton(identifier, true);
 	}
 
-	@RobotKeyword("Asynchronously Pushes button")
+	@RobotKeyword("Asynchronously Pushes button. Returns the id of the async action, which can be used to wait for the push "
+			+ "to finish. Example:\n | ${action}= | Click Button Async | _OK_ |\n | Wait For Async Action | ${action} |\n")
 	@ArgumentNames({ "identifier" })
-	public void clickButtonAsync(String identifier) {
+	public int clickButtonAsync(String identifier) {
 		ContextChangeMonitor monitor = new ContextChangeMonitor();
 		monitor.start();
-		new ButtonOperator(identifier).pushAsync();
+		int id = new ButtonOperator(identifier).pushAsync();
 		monitor.stop();
+		return id;
 	}
 
 	@RobotKeyword("Verify if a button is disabled. If fail argument is set to false this test will not fail Example:\n |  Verify Button Is Disabled | _OK_ |\n")
@@ -1,6 +1,9 @@
 package org.robotframework.formslibrary.keyword;
 
+import java.util.Arrays;
+
 import org.robotframework.formslibrary.context.FormsContext;
+import org.robotframework.formslibrary.context.WindowRegistry;
 import org.robotframework.formslibrary.operator.PanelOperator;
 import org.robotframework.formslibrary.util.Logger;
 import org.robotframework.javalib.annotation.ArgumentNames;
@@ -19,4 +22,12 @@ public class ContextKeywords {
 		Logger.info("Context set to " + context.getSource());
 	}
 
+	@RobotKeyword("Set the titles of the Oracle Forms main window, which is used as the root context. The first title with an open window is used. "
+			+ "Titles can end with a '*' wildcard. Defaults to 'Visma Fivaldi' and 'Main0'.\n\n" + "Example:\n"
+			+ "| Set Root Window Titles | _My Application*_ | _Main0_ |\n")
+	@ArgumentNames({ "*titles" })
+	public void setRootWindowTitles(String... titles) {
+		WindowRegistry.setRootFrameTitles(Arrays.asList(titles));
+	}
+
 }
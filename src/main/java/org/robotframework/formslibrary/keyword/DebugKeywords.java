@@ -5,8 +5,11 @@ import org.robotframework.formslibrary.operator.ContextOperator;
 import org.robotframework.formslibrary.util.ComponentType;
 import org.robotframework.formslibrary.util.ComponentUtil;
 import org.robotframework.formslibrary.util.DebugUtil;
+import org.robotframework.formslibrary.util.EdtUtil;
+import org.robotframework.formslibrary.util.Logger;
 import org.robotframework.javalib.annotation.ArgumentNames;
 import org.robotframework.javalib.annotation.RobotKeyword;
+import org.robotframework.javalib.annotation.RobotKeywordOverload;
 import org.robotframework.javalib.annotation.RobotKeywords;
 
 @RobotKeywords
@@ -51,11 +54,45 @@ public class DebugKeywords {
 		DebugUtil.setKeywordDelay(delay);
 	}
 
+	@RobotKeyword("Replace the fixed keyword delay by adaptive pacing: before every action, wait until the Oracle Forms client is idle "
+			+ "instead of waiting a fixed time. The client is idle when the event queue is empty, no events were dispatched recently "
+			+ "and no busy cursor is shown. Timeout is the maximum wait in ms and defaults to 10000.\n\n"
+			+ "| Set Adaptive Pacing | _true_ |\n" + "| Set Adaptive Pacing | _true_ | _5000_ |\n")
+	@ArgumentNames({ "enabled", "timeout=" })
+	public void setAdaptivePacing(boolean enabled, int timeout) {
+		DebugUtil.setAdaptivePacing(enabled, timeout);
+	}
+
+	@RobotKeywordOverload
+	public void setAdaptivePacing(boolean enabled) {
+		setAdaptivePacing(enabled, 10000);
+	}
+
+	@RobotKeyword("Recognize custom subclasses of the supported Oracle Forms components as the component type of their super class, "
+			+ "e.g. a subclass of VTextField as a text field. Disabled by default.\n\n" + "| Set Subclass Matching | _true_ |\n")
+	@ArgumentNames({ "enabled" })
+	public void setSubclassMatching(boolean enabled) {
+		ComponentType.setSubclassMatchingEnabled(enabled);
+	}
+
 	@RobotKeyword("Enable forms library debug output.\n\n" + "| Enable Debug|\n")
 	public void enableDebug() {
 		DebugUtil.setDebugEnabled(true);
 	}
 
+	@RobotKeyword("Prints for every keyword how long it waited for the event dispatch thread and how long it kept the event dispatch thread busy "
+			+ "while reading the components. High wait times indicate contention with the Oracle Forms client.\n\n" + "| Log EDT Metrics |\n")
+	public void logEdtMetrics() {
+		for (String metrics : EdtUtil.getMetrics()) {
+			Logger.info(metrics);
+		}
+	}
+
+	@RobotKeyword("Clear the event dispatch thread metrics.\n\n" + "| Reset EDT Metrics |\n")
+	public void resetEdtMetrics() {
+		EdtUtil.resetMetrics();
+	}
+
 	@RobotKeyword("Get the current context.\n\n" + "| Get Current Context|\n")
 	public String getContext() {
 		return ComponentUtil.getFormattedComponentNames(new ContextOperator().getSource());
@@ -1,6 +1,9 @@
 package org.robotframework.formslibrary.keyword;
 
+import java.util.Map;
+
 import org.robotframework.formslibrary.operator.MECOMSValuesOperator;
+import org.robotframework.formslibrary.util.ResultCursor;
 import org.robotframework.javalib.annotation.ArgumentNames;
 import org.robotframework.javalib.annotation.RobotKeyword;
 import org.robotframework.javalib.annotation.RobotKeywordOverload;
@@ -15,6 +18,15 @@ public class MECOMSValuesKeywords {
 		return new MECOMSValuesOperator().getValues();
 	}
 
+	@RobotKeyword("Returns the MECOMS values one page at a time. Returns a Dictionary with the _rows_ of the first page and a _cursor_"
+			+ " for fetching the next page with `Fetch Next Page`. The cursor is empty when there are no more values.\n\n"
+			+ " Example:\n | ${page}= | Get MECOMS Values Paged | 500 | \n | ${page}= | Fetch Next Page | ${page['cursor']} | \n")
+	@ArgumentNames({ "pageSize" })
+	public Map<String, Object> getMECOMSValuesPaged(int pageSize) {
+		final MECOMSValuesOperator operator = new MECOMSValuesOperator();
+		return ResultCursor.open((offset, size) -> operator.getValues(offset, size), pageSize);
+	}
+
 	@RobotKeyword("Returns a the MECOMS values for the given date time, time is treated as a string \n\n"
 			+ "Example:\n Get MECOMS Value | 20-01-2014 00:15:00|\n")
 	@ArgumentNames({ "date" })
@@ -0,0 +1,38 @@
+package org.robotframework.formslibrary.keyword;
+
+import java.util.Map;
+
+import org.robotframework.formslibrary.remote.ResultCompression;
+import org.robotframework.formslibrary.util.Logger;
+import org.robotframework.formslibrary.util.ResultCursor;
+import org.robotframework.javalib.annotation.ArgumentNames;
+import org.robotframework.javalib.annotation.RobotKeyword;
+import org.robotframework.javalib.annotation.RobotKeywords;
+
+@RobotKeywords
+public class ResultKeywords {
+
+	@RobotKeyword("Fetch the next page of a paged result, like the one of `Get Table Fields Paged`. Returns a dictionary with the _rows_"
+			+ " of the page and the _cursor_ for the next page, which is empty when there are no more rows.\n\n" + "Example:\n"
+			+ "| ${page}= | Get Table Fields Paged | 100 | _col1_ |\n" + "| ${page}= | Fetch Next Page | ${page['cursor']} |\n")
+	@ArgumentNames({ "cursor" })
+	public Map<String, Object> fetchNextPage(String cursor) {
+		return ResultCursor.next(cursor);
+	}
+
+	@RobotKeyword("Close the cursor of a paged result which is not read until the end.\n\n" + "Example:\n"
+			+ "| Close Cursor | ${page['cursor']} |\n")
+	@ArgumentNames({ "cursor" })
+	public void closeCursor(String cursor) {
+		ResultCursor.close(cursor);
+	}
+
+	@RobotKeyword("Compress keyword results which are larger than the given number of bytes when sent to robot. Compressed results are"
+			+ " decompressed again by the library, so keywords return the same values. Use 0 to disable compression, which is the default.\n\n"
+			+ "Example:\n" + "| Set Result Compression Threshold | 65536 |\n")
+	@ArgumentNames({ "bytes" })
+	public void setResultCompressionThreshold(int bytes) {
+		ResultCompression.setThreshold(bytes);
+		Logger.info("Result compression threshold set to " + bytes + " bytes.");
+	}
+}
@@ -3,6 +3,7 @@ package org.robotframework.formslibrary.keyword;
 import java.awt.Component;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.robotframework.formslibrary.FormsLibraryException;
 import org.robotframework.formslibrary.chooser.ByNameChooser;
@@ -12,6 +13,8 @@ import org.robotframework.formslibrary.operator.TableOperator;
 import org.robotframework.formslibrary.operator.TextFieldOperatorFactory;
 import org.robotframework.formslibrary.operator.VerticalScrollBarOperator;
 import org.robotframework.formslibrary.util.ComponentType;
+import org.robotframework.formslibrary.util.EdtUtil;
+import org.robotframework.formslibrary.util.ResultCursor;
 import org.robotframework.javalib.annotation.ArgumentNames;
 import org.robotframework.javalib.annotation.RobotKeyword;
 import org.robotframework.javalib.annotation.RobotKeywords;
@@ -123,43 +126,72 @@ public class TableKeywords {
 	// @formatter:on
 	@ArgumentNames({ "*columnnames" })
 	public List<List<String>> getTableFields(String[] identifiers) {
+		ContextOperator context = new ContextOperator();
+		return EdtUtil.read(() -> new TableFieldsReader(context, identifiers).read(0, Integer.MAX_VALUE));
+	}
 
-		List<List<String>> result = new ArrayList<List<String>>();
+	// @formatter:off
+	@RobotKeyword("Get the values for certain columns in a table one page at a time. Returns a dictionary with the _rows_ of the first page"
+	+ " and a _cursor_ for fetching the next page with `Fetch Next Page`. The cursor is empty when there are no more rows.\n\n"
+	+ "Only the fields of the rows in a page are read, so large tables can be processed without reading all values at once.\n\n" +
+	"\n Example usage:\n" +
+	"| ${page}= | Get Table Fields Paged | 100 | _col1_ | _col3_ | \n" +
+	"| Log Many | @{page['rows']} | | | \n" +
+	"| ${page}= | Fetch Next Page | ${page['cursor']} | | \n" )
+	// @formatter:on
+	@ArgumentNames({ "pageSize", "*columnnames" })
+	public Map<String, Object> getTableFieldsPaged(int pageSize, String[] identifiers) {
+		ContextOperator context = new ContextOperator();
+		TableFieldsReader reader = EdtUtil.read(() -> new TableFieldsReader(context, identifiers));
+		return ResultCursor.open((offset, size) -> EdtUtil.read(() -> reader.read(offset, size)), pageSize);
+	}
 
-		for (int i = 0; i < identifiers.length; i++) {
+	/**
+	 * Reads the values of table columns. The fields of the columns are looked
+	 * up once, pages only read the fields of their rows. The table ends at the
+	 * first row with an empty value in the first column.
+	 */
+	private static class TableFieldsReader {
 
-			List<Component> columnFields = new ContextOperator()
-					.findTableFields(new ByNameChooser(identifiers[i], ComponentType.ALL_TEXTFIELD_TYPES));
+		private final List<List<Component>> columns = new ArrayList<List<Component>>();
 
-			if (i == 0) {
-				// first column, so we need to create the rows
-				for (Component c : columnFields) {
+		private final int rowCount;
 
-					String value = TextFieldOperatorFactory.getOperator(c).getValue();
-					if (value == null || value.length() == 0) {
-						break;
-					}
-					List<String> row = new ArrayList<String>();
-					row.add(value);
-					result.add(row);
+		private TableFieldsReader(ContextOperator context, String[] identifiers) {
+			for (String identifier : identifiers) {
+				columns.add(context.findTableFields(new ByNameChooser(identifier, ComponentType.ALL_TEXTFIELD_TYPES)));
+			}
+			rowCount = columns.isEmpty() ? 0 : columns.get(0).size();
+		}
+
+		/**
+		 * Read the values of the rows [offset, offset + size).
+		 */
+		private List<List<String>> read(int offset, int size) {
+
+			List<List<String>> result = new ArrayList<List<String>>();
+			int end = (int) Math.min(rowCount, (long) offset + size);
+
+			for (int rowIndex = offset; rowIndex < end; rowIndex++) {
+
+				String firstValue = TextFieldOperatorFactory.getOperator(columns.get(0).get(rowIndex)).getValue();
+				if (firstValue == null || firstValue.length() == 0) {
+					break;
 				}
-			} else {
-				int j = 0;
-				for (Component c : columnFields) {
-					if (result.size() > j) {
-						List<String> row = result.get(j++);
-						if (row != null) {
-							String value = TextFieldOperatorFactory.getOperator(c).getValue();
-							if (value == null || value.length() == 0) {
-								value = "";
-							}
-							row.add(value);
-						}
+				List<String> row = new ArrayList<String>();
+				row.add(firstValue);
+
+				for (int i = 1; i < columns.size(); i++) {
+					List<Component> columnFields = columns.get(i);
+					if (rowIndex < columnFields.size()) {
+						String value = TextFieldOperatorFactory.getOperator(columnFields.get(rowIndex)).getValue();
+						row.add(value == null ? "" : value);
 					}
 				}
+				result.add(row);
 			}
-		}
 
-		return result;
+			return result;
+		}
 	}
 }
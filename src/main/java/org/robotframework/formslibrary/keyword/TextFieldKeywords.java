@@ -42,7 +42,7 @@ public class TextFieldKeywords {
 	@RobotKeyword("Get field content.\n\n" + "Example:\n" + "| \n" + "| ${textFieldValue}= | Get Field | _username_ | \n")
 	@ArgumentNames({ "identifier" })
 	public String getField(String identifier) {
-		return TextFieldOperatorFactory.getOperator(identifier).getValue();
+		return TextFieldOperatorFactory.getValue(identifier);
 	}
 
 	@RobotKeyword("Locate a field by a label on the same height to the left of the text field. ':' in the field labels are ignored.\n"
@@ -0,0 +1,148 @@
+package org.robotframework.formslibrary.keyword;
+
+import java.awt.Component;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.robotframework.formslibrary.FormsLibraryException;
+import org.robotframework.formslibrary.chooser.ByNameChooser;
+import org.robotframework.formslibrary.context.AlertWatcher;
+import org.robotframework.formslibrary.operator.AlertOperator;
+import org.robotframework.formslibrary.operator.ContextOperator;
+import org.robotframework.formslibrary.operator.LWWindowOperator;
+import org.robotframework.formslibrary.operator.StatusBarOperator;
+import org.robotframework.formslibrary.operator.TableOperator;
+import org.robotframework.formslibrary.operator.TextFieldOperatorFactory;
+import org.robotframework.formslibrary.util.ChangeWaiter;
+import org.robotframework.formslibrary.util.ComponentType;
+import org.robotframework.formslibrary.util.IdleDetector;
+import org.robotframework.formslibrary.util.Logger;
+import org.robotframework.formslibrary.util.TextUtil;
+import org.robotframework.formslibrary.util.WaitUtil;
+import org.robotframework.javalib.annotation.ArgumentNames;
+import org.robotframework.javalib.annotation.RobotKeyword;
+import org.robotframework.javalib.annotation.RobotKeywordOverload;
+import org.robotframework.javalib.annotation.RobotKeywords;
+
+@RobotKeywords
+public class WaitKeywords {
+
+	private static final int DEFAULT_TIMEOUT = 10000;
+
+	@RobotKeyword("Wait until the Oracle Forms client is idle: the event queue is empty, no events were dispatched during the quiet period "
+			+ "and no busy cursor is shown. Fails if the client is still busy after the timeout. "
+			+ "Timeout and quiet period are in ms and default to 10000 and 50.\n\n" + "| Wait Until UI Idle |\n"
+			+ "| Wait Until UI Idle | _30000_ | _200_ |\n")
+	@ArgumentNames({ "timeout=", "quietPeriod=" })
+	public void waitUntilUiIdle(int timeout, int quietPeriod) {
+		if (!IdleDetector.waitUntilIdle(timeout, quietPeriod)) {
+			throw new FormsLibraryException("Client still busy after " + timeout + " ms.");
+		}
+	}
+
+	@RobotKeywordOverload
+	public void waitUntilUiIdle(int timeout) {
+		waitUntilUiIdle(timeout, (int) IdleDetector.DEFAULT_QUIET_PERIOD);
+	}
+
+	@RobotKeywordOverload
+	public void waitUntilUiIdle() {
+		waitUntilUiIdle(DEFAULT_TIMEOUT);
+	}
+
+	@RobotKeyword("Wait until a field in the current context contains a matching value. The field is located by name once and "
+			+ "only located again when it disappears. The value is checked as soon as the field fires "
+			+ "a change event. Timeout is in ms and defaults to 10000.\n\n" + "Example:\n"
+			+ "| Wait Until Field Value Matches | _status_ | _Approved_ |\n" + "| Wait Until Field Value Matches | _total_ | _1*_ | _30000_ |\n")
+	@ArgumentNames({ "identifier", "value", "timeout=" })
+	public void waitUntilFieldValueMatches(String identifier, String value, int timeout) {
+
+		ContextOperator context = new ContextOperator();
+		AtomicReference<Component> field = new AtomicReference<Component>();
+
+		AtomicReference<ChangeWaiter> waiter = new AtomicReference<ChangeWaiter>();
+		waiter.set(new ChangeWaiter(() -> {
+			Component component = field.get();
+			if (component == null || !component.isShowing()) {
+				// choosers count the matches they have seen, so use a new
+				// one for every lookup
+				component = context.findTextField(new ByNameChooser(identifier, ComponentType.ALL_TEXTFIELD_TYPES));
+				if (component == null) {
+					throw new FormsLibraryException("Field '" + identifier + "' not found.");
+				}
+				field.set(component);
+				waiter.get().watch(component);
+			}
+			return TextUtil.matches(TextFieldOperatorFactory.getOperator(component).getValue(), value);
+		}, fieldValue -> TextUtil.matches(fieldValue, value)));
+		waiter.get().waitUntilMet("field '" + identifier + "' to match '" + value + "'", timeout);
+		Logger.info("Field '" + identifier + "' matches '" + value + "'.");
+	}
+
+	@RobotKeywordOverload
+	public void waitUntilFieldValueMatches(String identifier, String value) {
+		waitUntilFieldValueMatches(identifier, value, DEFAULT_TIMEOUT);
+	}
+
+	@RobotKeyword("Wait until a row with the given column values exists in the current context. Timeout is in ms.\n\n" + "Example:\n"
+			+ "| Wait Until Row Exists | _10000_ | _Order 12_ | _Open_ |\n")
+	@ArgumentNames({ "timeout", "*columnValues" })
+	public void waitUntilRowExists(int timeout, String... columnValues) {
+		TableOperator table = new TableOperator();
+		WaitUtil.waitUntil("row " + TextUtil.concatenateArrayElements(columnValues), timeout, () -> table.rowExists(columnValues));
+	}
+
+	@RobotKeyword("Wait until a window with the given title is open. The title can end with a '*' wildcard. "
+			+ "Timeout is in ms and defaults to 10000.\n\n" + "Example:\n" + "| Wait Until Window Is Open | _Orders_ |\n")
+	@ArgumentNames({ "title", "timeout=" })
+	public void waitUntilWindowIsOpen(String title, int timeout) {
+		LWWindowOperator windows = new LWWindowOperator();
+		WaitUtil.waitUntil("window '" + title + "'", timeout, () -> windows.isWindowOpen(title));
+		Logger.info("Window '" + title + "' is open.");
+	}
+
+	@RobotKeywordOverload
+	public void waitUntilWindowIsOpen(String title) {
+		waitUntilWindowIsOpen(title, DEFAULT_TIMEOUT);
+	}
+
+	@RobotKeyword("Wait until an alert dialog is shown and return its message. Timeout is in ms and defaults to 10000.\n\n"
+			+ "Example:\n" + "| ${alertMessage}= | Wait Until Alert Is Shown |\n")
+	@ArgumentNames({ "timeout=" })
+	public String waitUntilAlertIsShown(int timeout) {
+
+		AtomicReference<Component> pane = new AtomicReference<Component>();
+		WaitUtil.waitUntil("alert dialog", timeout, () -> {
+			pane.set(AlertWatcher.getShowingPane());
+			return pane.get() != null;
+		});
+
+		String message = new AlertOperator(pane.get()).getAlertMessage();
+		Logger.info("Found alert '" + message + "'.");
+		return message;
+	}
+
+	@RobotKeywordOverload
+	public String waitUntilAlertIsShown() {
+		return waitUntilAlertIsShown(DEFAULT_TIMEOUT);
+	}
+
+	@RobotKeyword("Wait until the status bar at the bottom of the screen shows a matching message. "
+			+ "The message is checked as soon as the status bar item fires a change event. Timeout is in ms and defaults to 10000.\n\n"
+			+ "Example:\n" + "| Wait Until Status Message Matches | _Transaction complete*_ |\n")
+	@ArgumentNames({ "value", "timeout=" })
+	public void waitUntilStatusMessageMatches(String value, int timeout) {
+		StatusBarOperator statusBar = new StatusBarOperator();
+		ChangeWaiter waiter = new ChangeWaiter(() -> TextUtil.matches(statusBar.readMessage(), value), message -> TextUtil.matches(message, value));
+		Object messageItem = statusBar.getMessageItem();
+		if (messageItem != null) {
+			waiter.watch(messageItem);
+		}
+		waiter.waitUntilMet("status message '" + value + "'", timeout);
+		Logger.info("Status message matches '" + value + "'.");
+	}
+
+	@RobotKeywordOverload
+	public void waitUntilStatusMessageMatches(String value) {
+		waitUntilStatusMessageMatches(value, DEFAULT_TIMEOUT);
+	}
+}
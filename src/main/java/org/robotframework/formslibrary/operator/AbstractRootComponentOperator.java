@@ -5,6 +5,8 @@ import java.awt.Component;
 import org.netbeans.jemmy.ComponentChooser;
 import org.netbeans.jemmy.operators.ComponentOperator;
 import org.netbeans.jemmy.operators.ContainerOperator;
+import org.robotframework.formslibrary.chooser.ByComponentTypeChooser;
+import org.robotframework.formslibrary.chooser.ByNameChooser;
 import org.robotframework.formslibrary.context.FormsContext;
 import org.robotframework.formslibrary.util.DebugUtil;
 
@@ -33,6 +35,32 @@ public abstract class AbstractRootComponentOperator extends ComponentOperator {
         DebugUtil.applyKeywordDelay();
     }
 
+    /**
+     * Create a new operator for a component of a given type. The component is
+     * searched in the ROOT context, stopping at the first match. When it is not
+     * found, jemmy waits for the component to appear.
+     * 
+     * @param chooser
+     *            ByComponentTypeChooser to select component.
+     */
+    public AbstractRootComponentOperator(ByComponentTypeChooser chooser) {
+        super(ComponentFinder.findComponent(FormsContext.getRootContext(), chooser));
+        DebugUtil.applyKeywordDelay();
+    }
+
+    /**
+     * Create a new operator for a named component. The component is looked up
+     * in the component index of the ROOT context. When it is not found there,
+     * the context is searched using the chooser.
+     * 
+     * @param chooser
+     *            ByNameChooser to select component.
+     */
+    public AbstractRootComponentOperator(ByNameChooser chooser) {
+        super(ComponentFinder.findComponent(FormsContext.getRootContext(), chooser));
+        DebugUtil.applyKeywordDelay();
+    }
+
     /**
      * Get the ROOT context to use for locating the component.
      */
@@ -6,7 +6,9 @@ import javax.swing.AbstractButton;
 
 import org.robotframework.formslibrary.FormsLibraryException;
 import org.robotframework.formslibrary.chooser.ByNameChooser;
+import org.robotframework.formslibrary.util.AsyncActionExecutor;
 import org.robotframework.formslibrary.util.ComponentType;
+import org.robotframework.formslibrary.util.ComponentUtil;
 import org.robotframework.formslibrary.util.Logger;
 import org.robotframework.formslibrary.util.ObjectUtil;
 
@@ -53,13 +55,18 @@ public class ButtonOperator extends AbstractComponentOperator {
 
 	}
 
-	public void pushAsync() {
+	/**
+	 * Push the button without waiting for the push to be handled.
+	 * 
+	 * @return id of the async action.
+	 */
+	public int pushAsync() {
 		if (!getSource().isEnabled()) {
 			throw new FormsLibraryException("Button is not enabled.");
 		}
-		new Thread(() -> doPush()).start();
+		int id = AsyncActionExecutor.submit("push button '" + ComponentUtil.getAccessibleText(getSource()) + "'", () -> doPush());
 		Logger.debug("Button was pushed.");
-
+		return id;
 	}
 
 }
@@ -0,0 +1,51 @@
+package org.robotframework.formslibrary.operator;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.List;
+
+import org.netbeans.jemmy.operators.ComponentOperator;
+import org.netbeans.jemmy.operators.ContainerOperator;
+import org.robotframework.formslibrary.chooser.ByComponentTypeChooser;
+import org.robotframework.formslibrary.chooser.ByNameChooser;
+import org.robotframework.formslibrary.util.EdtUtil;
+import org.robotframework.swing.operator.ComponentWrapper;
+
+/**
+ * Component lookup shared by the component operators of the current and the
+ * root context. Components are looked up in the context in a single hop on the
+ * event dispatch thread; when they are not found, jemmy waits for them to
+ * appear.
+ */
+class ComponentFinder {
+
+    private ComponentFinder() {
+        // static methods only
+    }
+
+    /**
+     * Find the first component of a given type in the context.
+     */
+    static Component findComponent(ComponentWrapper context, ByComponentTypeChooser chooser) {
+        ContextOperator contextOperator = new ContextOperator(context);
+        List<Component> components = EdtUtil.read(() -> contextOperator.findComponents(chooser, 1));
+        if (!components.isEmpty()) {
+            return components.get(0);
+        }
+        // wait for the component to appear
+        chooser.reset();
+        return new ComponentOperator((ContainerOperator) context, chooser).getSource();
+    }
+
+    /**
+     * Find a named component in the component index of the context.
+     */
+    static Component findComponent(ComponentWrapper context, ByNameChooser chooser) {
+        Component component = EdtUtil.read(() -> chooser.findComponent((Container) context.getSource()));
+        if (component == null) {
+            // wait for the component to appear
+            component = new ComponentOperator((ContainerOperator) context, chooser).getSource();
+        }
+        return component;
+    }
+}
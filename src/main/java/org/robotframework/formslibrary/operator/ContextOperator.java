@@ -4,18 +4,21 @@ import java.awt.Component;
 import java.awt.Container;
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.netbeans.jemmy.ComponentChooser;
-import org.robotframework.formslibrary.chooser.ByComponentTypeChooser;
 import org.robotframework.formslibrary.chooser.ByNameChooser;
+import org.robotframework.formslibrary.context.ComponentIndex;
 import org.robotframework.formslibrary.context.FormsContext;
+import org.robotframework.formslibrary.context.SpatialIndex;
 import org.robotframework.formslibrary.util.ComponentComparator;
 import org.robotframework.formslibrary.util.ComponentType;
 import org.robotframework.formslibrary.util.ComponentUtil;
+import org.robotframework.formslibrary.util.EdtUtil;
 import org.robotframework.formslibrary.util.Logger;
 import org.robotframework.swing.operator.ComponentWrapper;
 
@@ -52,39 +55,112 @@ public class ContextOperator {
 	 * Finds all visible components matching the chooser in the context.
 	 */
 	public List<Component> findComponents(ComponentChooser chooser) {
-		return findChildComponentsByChooser(getSource(), chooser);
+		return findComponents(chooser, -1);
 	}
 
 	/**
-	 * Finds all visible components matching the chooser in the context.
+	 * Finds the first visible components matching the chooser in the context.
+	 * 
+	 * @param limit
+	 *            maximum number of components to find, or -1 to find all.
+	 */
+	public List<Component> findComponents(ComponentChooser chooser, int limit) {
+		List<Component> result = new ArrayList<Component>();
+		findChildComponentsByChooser(getSource(), chooser, limit, result);
+		return result;
+	}
+
+	/**
+	 * Finds all visible components of the given types in the context. The
+	 * components are looked up in the component index of the context.
+	 */
+	public List<Component> findComponents(ComponentType... types) {
+		return getIndex().findComponents(types);
+	}
+
+	/**
+	 * Finds all visible components of the given types in the context and sorts
+	 * them by location.
 	 */
-	private List<Component> findAndSortComponents(ComponentChooser chooser) {
-		List<Component> results = findChildComponentsByChooser(getSource(), chooser);
+	private List<Component> findAndSortComponents(ComponentType... types) {
+		List<Component> results = findComponents(types);
 		Collections.sort(results, new ComponentComparator());
 		return results;
 	}
 
 	/**
-	 * Find all childComponents that match a given chooser selection. Components
-	 * which are not visible are ignored.
+	 * @return Component index for the context.
 	 */
-	private List<Component> findChildComponentsByChooser(Component component, ComponentChooser chooser) {
+	protected ComponentIndex getIndex() {
+		return ComponentIndex.getIndex(getSource());
+	}
 
-		List<Component> result = new ArrayList<Component>();
+	/**
+	 * Find all childComponents that match a given chooser selection and add
+	 * them to the result. Components which are not visible are ignored, and so
+	 * are all the components in containers which are not visible. The search
+	 * stops as soon as the limit is reached.
+	 */
+	private void findChildComponentsByChooser(Component component, ComponentChooser chooser, int limit, List<Component> result) {
+
+		if (!checkComponent(component, chooser, result)) {
+			return;
+		}
+
+		// containers on the current search path and the position of the next
+		// child to check in each of them
+		Container[] parents = new Container[16];
+		int[] positions = new int[16];
+		int depth = 0;
+		parents[0] = (Container) component;
+
+		while (depth >= 0 && (limit < 0 || result.size() < limit)) {
+
+			Component child = getChild(parents[depth], positions[depth]++);
+			if (child == null) {
+				parents[depth--] = null;
+			} else if (checkComponent(child, chooser, result)) {
+				depth++;
+				if (depth == parents.length) {
+					parents = Arrays.copyOf(parents, depth * 2);
+					positions = Arrays.copyOf(positions, depth * 2);
+				}
+				parents[depth] = (Container) child;
+				positions[depth] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Add the component to the result if it matches the chooser.
+	 * 
+	 * @return true if the children of the component need to be searched.
+	 */
+	private boolean checkComponent(Component component, ComponentChooser chooser, List<Component> result) {
 
 		if (chooser.checkComponent(component)) {
 			if (component.isShowing()) {
 				// don't include components that are not visible in the UI
 				result.add(component);
 			}
-		} else if (component instanceof Container) {
-			Component[] childComponents = ((Container) component).getComponents();
-			for (Component child : childComponents) {
-				result.addAll(findChildComponentsByChooser(child, chooser));
-			}
+			return false;
 		}
 
-		return result;
+		return component instanceof Container && component.isShowing();
+	}
+
+	/**
+	 * @return child component at the given position or null if there is none.
+	 */
+	private Component getChild(Container container, int position) {
+		try {
+			if (position < container.getComponentCount()) {
+				return container.getComponent(position);
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			// component was removed during the search
+		}
+		return null;
 	}
 
 	/**
@@ -92,18 +168,28 @@ public class ContextOperator {
 	 * given types.
 	 */
 	public void listComponents(ComponentType... componentTypes) {
-		for (Component component : findAndSortComponents(new ByComponentTypeChooser(-1, componentTypes))) {
+		logLines(EdtUtil.read(() -> {
+			List<String> lines = new ArrayList<String>();
+			for (Component component : findAndSortComponents(componentTypes)) {
 
-			String editable = "";
-			if (ComponentUtil.isEditable(component)) {
-				editable = " [editable] ";
+				String editable = "";
+				if (ComponentUtil.isEditable(component)) {
+					editable = " [editable] ";
+				}
+				lines.add(getFormattedLocation(component) + " : " + ComponentUtil.getFormattedComponentNames(component) + editable);
 			}
-			Logger.info(getFormattedLocation(component) + " : " + ComponentUtil.getFormattedComponentNames(component) + editable);
+			return lines;
+		}));
+	}
+
+	private void logLines(List<String> lines) {
+		for (String line : lines) {
+			Logger.info(line);
 		}
 	}
 
 	private String getFormattedLocation(Component component) {
-		Point location = ComponentUtil.getLocationInWindow(component);
+		Point location = getIndex().getLocationInWindow(component);
 		return String.format("%1$-8s", location.x + "," + location.y);
 	}
 
@@ -111,27 +197,35 @@ public class ContextOperator {
 	 * Print all the text fields in the current context.
 	 */
 	public void listTextFields() {
-		for (Component component : findAndSortComponents(new ByComponentTypeChooser(-1, ComponentType.ALL_TEXTFIELD_TYPES))) {
+		logLines(EdtUtil.read(() -> {
+			List<String> lines = new ArrayList<String>();
+			for (Component component : findAndSortComponents(ComponentType.ALL_TEXTFIELD_TYPES)) {
 
-			String editable = "";
-			if (ComponentUtil.isEditable(component)) {
-				editable = " [editable] ";
-			}
+				String editable = "";
+				if (ComponentUtil.isEditable(component)) {
+					editable = " [editable] ";
+				}
 
-			TextFieldOperator operator = TextFieldOperatorFactory.getOperator(component);
-			String value = " : " + operator.getValue();
-			Logger.info(getFormattedLocation(component) + " : " + ComponentUtil.getFormattedComponentNames(component) + value + editable);
-		}
+				TextFieldOperator operator = TextFieldOperatorFactory.getOperator(component);
+				String value = " : " + operator.getValue();
+				lines.add(getFormattedLocation(component) + " : " + ComponentUtil.getFormattedComponentNames(component) + value + editable);
+			}
+			return lines;
+		}));
 	}
 
 	/**
 	 * Print a full hierarchy of all components in the current context.
 	 */
 	public void listComponentHierarchy() {
-		printHierarchyLevel(getSource(), 0);
+		logLines(EdtUtil.read(() -> {
+			List<String> lines = new ArrayList<String>();
+			printHierarchyLevel(getSource(), 0, lines);
+			return lines;
+		}));
 	}
 
-	private void printHierarchyLevel(Component component, int level) {
+	private void printHierarchyLevel(Component component, int level, List<String> lines) {
 
 		String editable = "";
 		if (ComponentUtil.isEditable(component)) {
@@ -140,13 +234,13 @@ public class ContextOperator {
 		String formattedName = String.format("%1$-" + (10 + (2 * (level + 1))) + "s", "L" + level + " [" + getFormattedLocation(component) + "]")
 				+ component.getClass().getName() + "  -  " + ComponentUtil.getFormattedComponentNames(component) + editable
 				+ ComponentUtil.getValue(component);
-		Logger.info(formattedName);
+		lines.add(formattedName);
 
 		if (component instanceof Container) {
 			Component[] childComponents = ((Container) component).getComponents();
 			level++;
 			for (Component child : childComponents) {
-				printHierarchyLevel(child, level);
+				printHierarchyLevel(child, level, lines);
 			}
 			level--;
 		}
@@ -154,13 +248,17 @@ public class ContextOperator {
 	}
 
 	public List<Component> findNonTableTextFields() {
-		return purgeTableFields(findComponents(new ByComponentTypeChooser(-1, ComponentType.ALL_TEXTFIELD_TYPES)));
+		return purgeTableFields(findComponents(ComponentType.ALL_TEXTFIELD_TYPES));
 	}
 
 	private List<Component> findTableTextFields() {
-		List<Component> result = findComponents(new ByComponentTypeChooser(-1, ComponentType.ALL_TEXTFIELD_TYPES));
-		List<Component> nonTableTextFieds = findNonTableTextFields();
-		result.removeAll(nonTableTextFieds);
+		SpatialIndex textFields = getIndex().getSpatialIndex(ComponentType.ALL_TEXTFIELD_TYPES);
+		List<Component> result = new ArrayList<Component>();
+		for (Component component : findComponents(ComponentType.ALL_TEXTFIELD_TYPES)) {
+			if (isTableField(component, textFields)) {
+				result.add(component);
+			}
+		}
 		Collections.sort(result, new ComponentComparator());
 		return result;
 	}
@@ -170,39 +268,41 @@ public class ContextOperator {
 	 * (same name + same X coordinates)
 	 */
 	private List<Component> purgeTableFields(List<Component> components) {
+		SpatialIndex index = new SpatialIndex(components, getIndex());
 		List<Component> result = new ArrayList<Component>();
 		for (Component component : components) {
-			boolean isTableCell = false;
-
-			for (Component otherComponent : components) {
-				if (component == otherComponent) {
-					continue;
-				}
+			if (!isTableField(component, index)) {
+				result.add(component);
+			}
+		}
+		return result;
+	}
 
-				Point loc1 = ComponentUtil.getLocationInWindow(component);
-				int height = component.getHeight();
-				Point loc2 = ComponentUtil.getLocationInWindow(otherComponent);
+	/**
+	 * Check if a field is organized in a table layout with one of the other
+	 * indexed fields (same name + same X coordinates)
+	 */
+	private boolean isTableField(Component component, SpatialIndex index) {
+		Point location = index.getLocation(component);
 
-				if (loc1.x == loc2.x) {
+		// only take other fields that are really close into account
+		int maxDelta = component.getHeight() + 1;
 
-					// only take other fields that are really close into account
-					int yDelta = loc1.y - loc2.y;
+		String compName = "" + ComponentUtil.getAccessibleText(component);
+		if ("null".equals(compName)) {
+			return false;
+		}
 
-					if (Math.abs(yDelta) - height < 2) {
-						String compName = "" + ComponentUtil.getAccessibleText(component);
-						String otherCompName = "" + ComponentUtil.getAccessibleText(otherComponent);
-						if (!"null".equals(compName) && otherCompName.equals(compName)) {
-							isTableCell = true;
-							break;
-						}
-					}
-				}
+		for (Component otherComponent : index.getColumn(location.x, location.y - maxDelta, location.y + maxDelta)) {
+			if (component == otherComponent) {
+				continue;
 			}
-			if (!isTableCell) {
-				result.add(component);
+			String otherCompName = "" + ComponentUtil.getAccessibleText(otherComponent);
+			if (otherCompName.equals(compName)) {
+				return true;
 			}
 		}
-		return result;
+		return false;
 	}
 
 	/**
@@ -211,8 +311,9 @@ public class ContextOperator {
 	 */
 	public Component findTextField(ByNameChooser chooser) {
 
-		for (Component component : findNonTableTextFields()) {
-			if (chooser.checkComponent(component)) {
+		SpatialIndex textFields = getIndex().getSpatialIndex(ComponentType.ALL_TEXTFIELD_TYPES);
+		for (Component component : chooser.findComponents(getSource())) {
+			if (!isTableField(component, textFields) && chooser.checkComponent(component)) {
 				return component;
 			}
 		}
@@ -3,29 +3,21 @@ package org.robotframework.formslibrary.operator;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Frame;
-import java.awt.Window;
-import java.lang.ref.WeakReference;
-import java.util.Vector;
 
 import javax.swing.JFrame;
 
 import org.netbeans.jemmy.operators.ContainerOperator;
 import org.robotframework.formslibrary.FormsLibraryException;
+import org.robotframework.formslibrary.context.WindowRegistry;
 import org.robotframework.formslibrary.util.ComponentUtil;
+import org.robotframework.formslibrary.util.TextUtil;
 import org.robotframework.swing.operator.ComponentWrapper;
 
-import sun.awt.AppContext;
-
 /**
  * Operator for working with the main Oracle Forms Window Frame.
  */
-@SuppressWarnings("restriction")
 public class FrameOperator extends ContainerOperator implements ComponentWrapper {
 
-	// FIXME: remove the hardcoding on the below lines:
-	private static final String ORACLE_FORMS_FRAME_TITLE = "Visma Fivaldi";
-	private static final String WORKFLOW_FRAME_TITLE = "Main0";
-
 	/**
 	 * Create a new frame operator for a provided Frame.
 	 */
@@ -53,39 +45,18 @@ public class FrameOperator extends ContainerOperator implements ComponentWrapper
 		}
 	}
 
-	@SuppressWarnings("unchecked")
 	private static Frame findFrame(String title) {
-
-		Vector<WeakReference<Window>> windowList = (Vector<WeakReference<Window>>) AppContext.getAppContext().get(Window.class);
-		if (windowList != null) {
-			for (int i = 0; i < windowList.size(); i++) {
-				Window w = windowList.get(i).get();
-				if (w != null) {
-					if (w instanceof Frame) {
-						Frame f = (Frame) w;
-						if (title.equals(f.getTitle())) {
-							return f;
-						}
-					}
-				}
-			}
-		}
-
-		return null;
+		return WindowRegistry.getFrame(title);
 	}
 
 	private static Frame findRootFrame(boolean failIfNotFound) {
-		Frame oracleFormsFrame = findFrame(ORACLE_FORMS_FRAME_TITLE);
-		if (oracleFormsFrame != null) {
-			return oracleFormsFrame;
-		}
-		Frame workflowFrame = findFrame(WORKFLOW_FRAME_TITLE);
-		if (workflowFrame != null) {
-			return workflowFrame;
+		Frame rootFrame = WindowRegistry.getRootFrame();
+		if (rootFrame != null) {
+			return rootFrame;
 		}
 
 		if (failIfNotFound) {
-			throw new FormsLibraryException("Frame '" + ORACLE_FORMS_FRAME_TITLE + " or " + WORKFLOW_FRAME_TITLE
+			throw new FormsLibraryException("Frame '" + TextUtil.concatenateArrayElements(WindowRegistry.getRootFrameTitles().toArray(new String[0]))
 					+ "' not found in AppContext. Try restarting the application or checking the context first with isContextInvalid");
 		}
 		return null;
@@ -105,7 +76,7 @@ public class FrameOperator extends ContainerOperator implements ComponentWrapper
 	 * threads' appContext.
 	 */
 	public static boolean isFrameInCurrentAppContext() {
-		return findFrame(ORACLE_FORMS_FRAME_TITLE) != null || findFrame(WORKFLOW_FRAME_TITLE) != null;
+		return WindowRegistry.isRootFrameInCurrentAppContext();
 	}
 
 	public void setWindowSize(int width, int height) {
@@ -9,10 +9,11 @@ import org.netbeans.jemmy.ComponentChooser;
 import org.robotframework.formslibrary.FormsLibraryException;
 import org.robotframework.formslibrary.chooser.ByComponentTypeChooser;
 import org.robotframework.formslibrary.context.FormsContext;
+import org.robotframework.formslibrary.context.LWWindowRegistry;
+import org.robotframework.formslibrary.context.LWWindowRegistry.LWWindow;
 import org.robotframework.formslibrary.util.ComponentType;
 import org.robotframework.formslibrary.util.Logger;
 import org.robotframework.formslibrary.util.ObjectUtil;
-import org.robotframework.formslibrary.util.TextUtil;
 
 /**
  * Operator for oracle forms windows inside a JFrame.
@@ -36,18 +37,11 @@ public class LWWindowOperator extends AbstractRootComponentOperator {
 	public List<String> getWindowTitles() {
 
 		List<String> frameTitles = new ArrayList<String>();
-		Component[] extendedFrames = ((Container) getSource()).getComponents();
-		for (Component frame : extendedFrames) {
-			Component[] children = ((Container) frame).getComponents();
-			for (Component child : children) {
-				if (ComponentType.TITLE_BAR.matches(child)) {
-					boolean visible = ObjectUtil.getBoolean(frame, "isVisible()");
-					String title = ObjectUtil.getString(child, "getLWWindow().getTitle()");
-					Logger.debug("Found window '" + title + "' [visible=" + visible + "]");
-					if (visible) {
-						frameTitles.add(title);
-					}
-				}
+		for (LWWindow window : getRegistry().getWindows()) {
+			boolean visible = window.isVisible();
+			Logger.debug("Found window '" + window.getTitle() + "' [visible=" + visible + "]");
+			if (visible) {
+				frameTitles.add(window.getTitle());
 			}
 		}
 
@@ -56,24 +50,23 @@ public class LWWindowOperator extends AbstractRootComponentOperator {
 
 	public String getSelectedWindowTitle() {
 
-		Component[] extendedFrames = ((Container) getSource()).getComponents();
-		for (Component frame : extendedFrames) {
-			if (frame.isFocusOwner()) {
-				Component[] children = ((Container) frame).getComponents();
-				for (Component child : children) {
-
-					if (ComponentType.TITLE_BAR.matches(child)) {
-						boolean visible = ObjectUtil.getBoolean(frame, "isVisible()");
-						if (visible) {
-							return ObjectUtil.getString(child, "getLWWindow().getTitle()");
-						}
-					}
-				}
+		for (LWWindow window : getRegistry().getWindows()) {
+			if (window.getFrame().isFocusOwner() && window.isVisible()) {
+				return window.getTitle();
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Check if a visible window with the given title exists. The title can end
+	 * with a '*' wildcard.
+	 */
+	public boolean isWindowOpen(String windowTitle) {
+		LWWindow window = getRegistry().findWindow(windowTitle);
+		return window != null && window.isVisible();
+	}
+
 	/**
 	 * Change the current context to the window with the given title.
 	 * 
@@ -82,24 +75,14 @@ public class LWWindowOperator extends AbstractRootComponentOperator {
 	 */
 	public void setWindowAsContext(String windowTitle) {
 
-		Component[] extendedFrames = ((Container) getSource()).getComponents();
-		for (Component frame : extendedFrames) {
-			Component[] children = ((Container) frame).getComponents();
-			for (Component child : children) {
-				if (ComponentType.TITLE_BAR.matches(child)) {
-
-					String title = ObjectUtil.getString(child, "getLWWindow().getTitle()");
-					if (TextUtil.matches(title, windowTitle)) {
-						FormsContext.setContext(new FrameOperator((Container) frame));
-						frame.requestFocus();
-						Logger.info("Context set to window '" + title + "'");
-						return;
-					}
-				}
-			}
+		LWWindow window = getRegistry().findWindow(windowTitle);
+		if (window == null) {
+			throw new FormsLibraryException("No window with title '" + windowTitle + "' found.");
 		}
 
-		throw new FormsLibraryException("No window with title '" + windowTitle + "' found.");
+		FormsContext.setContext(new FrameOperator(window.getFrame()));
+		window.getFrame().requestFocus();
+		Logger.info("Context set to window '" + window.getTitle() + "'");
 	}
 
 	/**
@@ -112,18 +95,12 @@ public class LWWindowOperator extends AbstractRootComponentOperator {
 
 		List<Component> framesToClose = new ArrayList<Component>();
 
-		Component[] extendedFrames = ((Container) getSource()).getComponents();
-		for (Component frame : extendedFrames) {
-			Component[] children = ((Container) frame).getComponents();
-			for (Component child : children) {
-				if (ComponentType.TITLE_BAR.matches(child)) {
-					if (ObjectUtil.getBoolean(frame, "isVisible()")) {
-						String title = ObjectUtil.getString(child, "getLWWindow().getTitle()");
-						if (!title.contains("Main Menu")) {
-							Logger.info("Closing window '" + title + "'");
-							framesToClose.add(frame);
-						}
-					}
+		for (LWWindow window : getRegistry().getWindows()) {
+			if (window.isVisible()) {
+				String title = window.getTitle();
+				if (!title.contains("Main Menu")) {
+					Logger.info("Closing window '" + title + "'");
+					framesToClose.add(window.getFrame());
 				}
 			}
 		}
@@ -133,4 +110,8 @@ public class LWWindowOperator extends AbstractRootComponentOperator {
 		}
 	}
 
+	private LWWindowRegistry getRegistry() {
+		return LWWindowRegistry.getRegistry((Container) getSource());
+	}
+
 }
@@ -28,13 +28,22 @@ public class MECOMSValuesOperator extends AbstractComponentOperator {
 		super(chooser);
 	}
 
-	@SuppressWarnings("unchecked")
 	public List<Map<String, Object>> getValues() {
+		return getValues(0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Get at most size values, starting at the given offset. Only the values
+	 * in the range are copied.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<Map<String, Object>> getValues(int offset, int size) {
 		List<Object> values = (List<Object>) ObjectUtil.getField(getSource(), "values");
 		// returns list of fcs.validationgraph.data.Value
 		List<Map<String, Object>> results = new ArrayList<Map<String, Object>>();
-		for (Object value : values) {
-			results.add(copyValue(value));
+		int end = (int) Math.min(values.size(), (long) offset + size);
+		for (int i = offset; i < end; i++) {
+			results.add(copyValue(values.get(i)));
 		}
 		return results;
 	}
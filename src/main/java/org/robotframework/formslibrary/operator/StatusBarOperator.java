@@ -36,16 +36,32 @@ public class StatusBarOperator extends AbstractRootComponentOperator {
      * @return the main message displayed in the status bar.
      */
     public String getMessage() {
+        String result = readMessage();
+        Logger.info("Found status message '" + result + "'");
+        return result;
+    }
+
+    /**
+     * @return the main message displayed in the status bar, without logging
+     *         it. Used when polling the status bar.
+     */
+    public String readMessage() {
+        Object messageItem = getMessageItem();
+        return messageItem == null ? "" : ObjectUtil.getString(messageItem, "getText()");
+    }
+
+    /**
+     * @return the StatusBarTextItem showing the main message, or null if the
+     *         status bar has no text item.
+     */
+    public Object getMessageItem() {
         Object[] statusBarItems = (Object[]) ObjectUtil.invokeMethod(getSource(), "getItems()");
-        String result = "";
         for (int i = 0; i < statusBarItems.length; i++) {
             if (ComponentType.STATUS_BAR_TEXT_ITEM.matches(statusBarItems[i])) {
-                result = ObjectUtil.getString(statusBarItems[i], "getText()");
-                Logger.info("Found status message '" + result + "'");
-                break;
+                return statusBarItems[i];
             }
         }
-        return result;
+        return null;
     }
 
     /**
@@ -7,12 +7,13 @@ import java.util.Collections;
 import java.util.List;
 
 import org.robotframework.formslibrary.FormsLibraryException;
-import org.robotframework.formslibrary.chooser.ByComponentTypeChooser;
 import org.robotframework.formslibrary.chooser.ByNameChooser;
 import org.robotframework.formslibrary.chooser.ByRowChooser;
+import org.robotframework.formslibrary.context.SpatialIndex;
 import org.robotframework.formslibrary.util.ComponentComparator;
 import org.robotframework.formslibrary.util.ComponentType;
 import org.robotframework.formslibrary.util.ComponentUtil;
+import org.robotframework.formslibrary.util.EdtUtil;
 import org.robotframework.formslibrary.util.Logger;
 import org.robotframework.formslibrary.util.ObjectUtil;
 import org.robotframework.formslibrary.util.TextUtil;
@@ -44,7 +45,7 @@ public class TableOperator extends ContextOperator {
 		// filter out all columns that don't have an adjacent column
 		for (int i = potentialColumnFieldMatches.size(); i > 1; i--) {
 
-			List<Component> rightColumns = potentialColumnFieldMatches.get(i - 1);
+			SpatialIndex rightColumns = new SpatialIndex(potentialColumnFieldMatches.get(i - 1), getIndex());
 			List<Component> leftColumns = potentialColumnFieldMatches.get(i - 2);
 			List<Component> toRemove = new ArrayList<Component>();
 
@@ -64,7 +65,7 @@ public class TableOperator extends ContextOperator {
 		}
 
 		Component firstField = keyColumns.get(0);
-		Point loc = ComponentUtil.getLocationInWindow(firstField);
+		Point loc = getIndex().getLocationInWindow(firstField);
 		Logger.info("Found matching row @ " + loc.x + ", " + loc.y + ".");
 		return firstField;
 
@@ -74,12 +75,12 @@ public class TableOperator extends ContextOperator {
 	 * Select a row by simulating a mouse click in the first field.
 	 */
 	public void selectRow(String[] columnValues) {
-		Component firstRowField = findRow(columnValues);
+		Component firstRowField = EdtUtil.read(() -> findRow(columnValues));
 		ComponentUtil.simulateMouseClick(firstRowField);
 	}
 
 	public void doubleClickRow(String[] columnValues) {
-		Component firstRowField = findRow(columnValues);
+		Component firstRowField = EdtUtil.read(() -> findRow(columnValues));
 		ComponentUtil.simulateMouseDoubleClick(firstRowField);
 	}
 
@@ -89,22 +90,14 @@ public class TableOperator extends ContextOperator {
 	 */
 	private List<Component> findRowComponents(Component keyField, ComponentType... allowedTypes) {
 
-		List<Component> allComponents = findComponents(new ByComponentTypeChooser(-1, allowedTypes));
-		List<Component> componentsOnRow = new ArrayList<Component>();
-
-		for (Component component : allComponents) {
-			if (ComponentUtil.areAlignedVertically(keyField, component)) {
-				componentsOnRow.add(component);
-			}
-		}
-
+		List<Component> componentsOnRow = getIndex().getSpatialIndex(allowedTypes).getRow(keyField);
 		Collections.sort(componentsOnRow, new ComponentComparator());
 		return componentsOnRow;
 	}
 
 	public List<Component> findTextFieldsByValue(String value) {
 
-		List<Component> allTextFields = findComponents(new ByComponentTypeChooser(-1, ComponentType.ALL_TEXTFIELD_TYPES));
+		List<Component> allTextFields = findComponents(ComponentType.ALL_TEXTFIELD_TYPES);
 		List<Component> result = new ArrayList<Component>();
 
 		for (Component textField : allTextFields) {
@@ -118,19 +111,23 @@ public class TableOperator extends ContextOperator {
 		return result;
 	}
 
-	private boolean hasAdjacentColumn(Component firstColumn, List<Component> otherColumns) {
+	private boolean hasAdjacentColumn(Component firstColumn, SpatialIndex otherColumns) {
 
-		for (Component nextCol : otherColumns) {
-			if (ComponentUtil.areAdjacent(firstColumn, nextCol)) {
-				return true;
-			}
+		List<Component> adjacentColumns = otherColumns.getAdjacent(firstColumn);
+		if (adjacentColumns.isEmpty()) {
+			return false;
 		}
-		return false;
+
+		Point point1 = otherColumns.getLocation(firstColumn);
+		Point point2 = otherColumns.getLocation(adjacentColumns.get(0));
+		Logger.info("Found adjacent field " + point1.x + "-" + (point1.x + firstColumn.getWidth()) + "," + point1.y + " / " + point2.x + ","
+				+ point2.y + ".");
+		return true;
 	}
 
 	private CheckboxOperator getCheckboxOperator(int index, String[] columnValues) {
 
-		List<Component> boxes = findRowComponents(findRow(columnValues), ComponentType.CHECK_BOX_WRAPPER);
+		List<Component> boxes = EdtUtil.read(() -> findRowComponents(findRow(columnValues), ComponentType.CHECK_BOX_WRAPPER));
 
 		if (boxes.size() < index) {
 			throw new FormsLibraryException("Only found " + boxes.size() + " checkboxes next to the row");
@@ -153,17 +150,25 @@ public class TableOperator extends ContextOperator {
 
 	public String getRowField(String identifier, String[] columnValues) {
 
+		String value = EdtUtil.read(() -> TextFieldOperatorFactory.getOperator(findRowField(identifier, columnValues)).getValue());
+		Logger.info("Found field value '" + value + "'.");
+		return value;
+	}
+
+	/**
+	 * Find a field by name in a row identified by column values.
+	 */
+	private Component findRowField(String identifier, String[] columnValues) {
+
 		Component firstColumn = findRow(columnValues);
-		List<Component> results = findComponents(new ByRowChooser(firstColumn, identifier, ComponentType.ALL_TEXTFIELD_TYPES));
+		List<Component> results = new ByRowChooser(firstColumn, identifier, ComponentType.ALL_TEXTFIELD_TYPES)
+				.findComponents(getIndex().getSpatialIndex(ComponentType.ALL_TEXTFIELD_TYPES));
 
 		if (results.isEmpty()) {
 			throw new FormsLibraryException("No row field found with name '" + identifier + "'");
 		}
 
-		TextFieldOperator operator = TextFieldOperatorFactory.getOperator(results.get(0));
-		String value = operator.getValue();
-		Logger.info("Found field value '" + value + "'.");
-		return value;
+		return results.get(0);
 	}
 
 	/**
@@ -171,7 +176,7 @@ public class TableOperator extends ContextOperator {
 	 */
 	public boolean rowExists(String[] columnValues) {
 		try {
-			Component c = findRow(columnValues);
+			Component c = EdtUtil.read(() -> findRow(columnValues));
 			if (c != null) {
 				return true;
 			}
@@ -186,7 +191,7 @@ public class TableOperator extends ContextOperator {
 	 */
 	public void selectRowButton(int index, String[] columnValues) {
 
-		List<Component> buttons = findRowComponents(findRow(columnValues), ComponentType.ALL_BUTTON_TYPES);
+		List<Component> buttons = EdtUtil.read(() -> findRowComponents(findRow(columnValues), ComponentType.ALL_BUTTON_TYPES));
 		if (buttons.size() < index) {
 			throw new FormsLibraryException("Only found " + buttons.size() + " buttons next to the row");
 		}
@@ -195,14 +200,8 @@ public class TableOperator extends ContextOperator {
 
 	public void setRowField(String identifier, String value, String[] columnValues) {
 
-		Component firstColumn = findRow(columnValues);
-		List<Component> results = findComponents(new ByRowChooser(firstColumn, identifier, ComponentType.ALL_TEXTFIELD_TYPES));
-
-		if (results.isEmpty()) {
-			throw new FormsLibraryException("No row field found with name '" + identifier + "'");
-		}
-
-		TextFieldOperator operator = TextFieldOperatorFactory.getOperator(results.get(0));
+		Component field = EdtUtil.read(() -> findRowField(identifier, columnValues));
+		TextFieldOperator operator = TextFieldOperatorFactory.getOperator(field);
 		operator.setValue(value);
 		Logger.info("Set field value to '" + value + "'.");
 	}
@@ -3,13 +3,15 @@ package org.robotframework.formslibrary.operator;
 import java.awt.Component;
 import java.awt.Point;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.robotframework.formslibrary.FormsLibraryException;
 import org.robotframework.formslibrary.chooser.ByNameChooser;
 import org.robotframework.formslibrary.chooser.ByPrecedingLabelChooser;
 import org.robotframework.formslibrary.util.ComponentType;
-import org.robotframework.formslibrary.util.ComponentUtil;
+import org.robotframework.formslibrary.util.EdtUtil;
+import org.robotframework.formslibrary.util.LocationCache;
 
 /**
  * Operator factory for creating operators for select and text fields.
@@ -43,7 +45,8 @@ public class TextFieldOperatorFactory {
 	 */
 	public static TextFieldOperator getOperator(String identifier) {
 
-		Component component = new ContextOperator().findTextField(new ByNameChooser(identifier, ComponentType.ALL_TEXTFIELD_TYPES));
+		ContextOperator context = new ContextOperator();
+		Component component = EdtUtil.read(() -> context.findTextField(new ByNameChooser(identifier, ComponentType.ALL_TEXTFIELD_TYPES)));
 		if (component != null) {
 			return getOperator(component);
 		}
@@ -51,6 +54,25 @@ public class TextFieldOperatorFactory {
 		return new TextFieldOperator(new ByPrecedingLabelChooser(identifier));
 	}
 
+	/**
+	 * Get the value of the field with the given name. The field is located and
+	 * read in a single hop on the event dispatch thread.
+	 */
+	public static String getValue(String identifier) {
+
+		ContextOperator context = new ContextOperator();
+		Optional<String> value = EdtUtil.read(() -> {
+			Component component = context.findTextField(new ByNameChooser(identifier, ComponentType.ALL_TEXTFIELD_TYPES));
+			return component == null ? null : Optional.ofNullable(getOperator(component).getValue());
+		});
+		if (value != null) {
+			return value.orElse(null);
+		}
+
+		// wait for a field with a matching label
+		return new TextFieldOperator(new ByPrecedingLabelChooser(identifier)).getValue();
+	}
+
 	/**
 	 * Create a field operator for a component with the given name.
 	 * 
@@ -58,14 +80,16 @@ public class TextFieldOperatorFactory {
 	 *         component that was found.
 	 */
 	public static TextFieldOperator getOperator(LabelOperator labelOperator) {
-		Point labelLocation = ComponentUtil.getLocationInWindow(labelOperator.getSource());
+		LocationCache locations = new LocationCache();
+		Point labelLocation = locations.getLocation(labelOperator.getSource());
 		List<Component> textFields = new ContextOperator().findNonTableTextFields();
 
 		Component textFieldToTheLeft;
 		try {
-			Stream<Component> textFieldsToTheLeft = textFields.stream()
-					.filter(p -> ComponentUtil.getLocationInWindow(p).getY() == labelLocation.getY()
-							&& ComponentUtil.getLocationInWindow(p).getX() > labelLocation.getX());
+			Stream<Component> textFieldsToTheLeft = textFields.stream().filter(p -> {
+				Point location = locations.getLocation(p);
+				return location.y == labelLocation.y && location.x > labelLocation.x;
+			});
 			textFieldToTheLeft = textFieldsToTheLeft.min((x, y) -> Integer.compare(x.getX(), y.getX())).orElse(null);
 		} catch (Exception e) {
 			e.printStackTrace();
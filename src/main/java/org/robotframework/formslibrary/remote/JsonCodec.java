@@ -0,0 +1,312 @@
+package org.robotframework.formslibrary.remote;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.robotframework.formslibrary.FormsLibraryException;
+
+/**
+ * Minimal JSON encoder and decoder for the JSON remote transport. Values are
+ * mapped the same way as by the XML-RPC remote server: arrays and collections
+ * become lists, maps become objects, null becomes an empty string and other
+ * objects are converted to strings. Decoded arrays are returned as Object[]
+ * and objects as Map.
+ */
+public class JsonCodec {
+
+	private final String json;
+
+	private int position;
+
+	private JsonCodec(String json) {
+		this.json = json;
+	}
+
+	/**
+	 * Encode a value as JSON.
+	 */
+	public static String encode(Object value) {
+		StringBuilder builder = new StringBuilder();
+		try {
+			encode(value, builder);
+		} catch (IOException e) {
+			// not thrown by StringBuilder
+			throw new FormsLibraryException(e);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Decode a JSON document.
+	 */
+	public static Object decode(String json) {
+		JsonCodec decoder = new JsonCodec(json);
+		Object value = decoder.readValue();
+		decoder.skipWhitespace();
+		if (decoder.position < json.length()) {
+			throw decoder.error("Unexpected content");
+		}
+		return value;
+	}
+
+	/**
+	 * Encode a value as JSON, writing it to the given output while encoding.
+	 */
+	public static void encode(Object value, Appendable out) throws IOException {
+
+		if (value == null) {
+			encodeString("", out);
+		} else if (value instanceof String || value instanceof Character) {
+			encodeString(value.toString(), out);
+		} else if (value instanceof Boolean) {
+			out.append(value.toString());
+		} else if (value instanceof Number) {
+			double number = ((Number) value).doubleValue();
+			if (Double.isNaN(number) || Double.isInfinite(number)) {
+				encodeString(value.toString(), out);
+			} else {
+				out.append(value.toString());
+			}
+		} else if (value instanceof Map) {
+			out.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first) {
+					out.append(',');
+				}
+				first = false;
+				encodeString(String.valueOf(entry.getKey()), out);
+				out.append(':');
+				encode(entry.getValue(), out);
+			}
+			out.append('}');
+		} else if (value instanceof Collection) {
+			encodeList(((Collection<?>) value).toArray(), out);
+		} else if (value.getClass().isArray()) {
+			Object[] elements = new Object[Array.getLength(value)];
+			for (int i = 0; i < elements.length; i++) {
+				elements[i] = Array.get(value, i);
+			}
+			encodeList(elements, out);
+		} else {
+			encodeString(value.toString(), out);
+		}
+	}
+
+	private static void encodeList(Object[] elements, Appendable out) throws IOException {
+		out.append('[');
+		for (int i = 0; i < elements.length; i++) {
+			if (i > 0) {
+				out.append(',');
+			}
+			encode(elements[i], out);
+		}
+		out.append(']');
+	}
+
+	private static void encodeString(String value, Appendable out) throws IOException {
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '"':
+				out.append("\\\"");
+				break;
+			case '\\':
+				out.append("\\\\");
+				break;
+			case '\n':
+				out.append("\\n");
+				break;
+			case '\r':
+				out.append("\\r");
+				break;
+			case '\t':
+				out.append("\\t");
+				break;
+			default:
+				if (c < 0x20) {
+					out.append(String.format("\\u%04x", (int) c));
+				} else {
+					out.append(c);
+				}
+			}
+		}
+		out.append('"');
+	}
+
+	private Object readValue() {
+
+		skipWhitespace();
+		if (position >= json.length()) {
+			throw error("Unexpected end");
+		}
+
+		char c = json.charAt(position);
+		switch (c) {
+		case '{':
+			return readObject();
+		case '[':
+			return readArray();
+		case '"':
+			return readString();
+		case 't':
+			expect("true");
+			return Boolean.TRUE;
+		case 'f':
+			expect("false");
+			return Boolean.FALSE;
+		case 'n':
+			expect("null");
+			return null;
+		default:
+			return readNumber();
+		}
+	}
+
+	private Map<String, Object> readObject() {
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		position++;
+		skipWhitespace();
+		if (peek() == '}') {
+			position++;
+			return result;
+		}
+		while (true) {
+			skipWhitespace();
+			if (peek() != '"') {
+				throw error("Expected object key");
+			}
+			String key = readString();
+			skipWhitespace();
+			expect(":");
+			result.put(key, readValue());
+			skipWhitespace();
+			char c = next();
+			if (c == '}') {
+				return result;
+			} else if (c != ',') {
+				throw error("Expected ',' or '}'");
+			}
+		}
+	}
+
+	private Object[] readArray() {
+		List<Object> result = new ArrayList<Object>();
+		position++;
+		skipWhitespace();
+		if (peek() == ']') {
+			position++;
+			return result.toArray();
+		}
+		while (true) {
+			result.add(readValue());
+			skipWhitespace();
+			char c = next();
+			if (c == ']') {
+				return result.toArray();
+			} else if (c != ',') {
+				throw error("Expected ',' or ']'");
+			}
+		}
+	}
+
+	private String readString() {
+		StringBuilder builder = new StringBuilder();
+		position++;
+		while (true) {
+			char c = next();
+			if (c == '"') {
+				return builder.toString();
+			} else if (c == '\\') {
+				char escaped = next();
+				switch (escaped) {
+				case 'n':
+					builder.append('\n');
+					break;
+				case 'r':
+					builder.append('\r');
+					break;
+				case 't':
+					builder.append('\t');
+					break;
+				case 'b':
+					builder.append('\b');
+					break;
+				case 'f':
+					builder.append('\f');
+					break;
+				case 'u':
+					if (position + 4 > json.length()) {
+						throw error("Invalid unicode escape");
+					}
+					builder.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+					position += 4;
+					break;
+				default:
+					builder.append(escaped);
+				}
+			} else {
+				builder.append(c);
+			}
+		}
+	}
+
+	private Object readNumber() {
+		int start = position;
+		while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) >= 0) {
+			position++;
+		}
+		String number = json.substring(start, position);
+		if (number.isEmpty()) {
+			throw error("Unexpected character");
+		}
+		try {
+			if (number.contains(".") || number.contains("e") || number.contains("E")) {
+				return Double.valueOf(number);
+			}
+			long value = Long.parseLong(number);
+			if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+				return (int) value;
+			}
+			return value;
+		} catch (NumberFormatException e) {
+			throw error("Invalid number '" + number + "'");
+		}
+	}
+
+	private void expect(String token) {
+		if (!json.startsWith(token, position)) {
+			throw error("Expected '" + token + "'");
+		}
+		position += token.length();
+	}
+
+	private char peek() {
+		if (position >= json.length()) {
+			throw error("Unexpected end");
+		}
+		return json.charAt(position);
+	}
+
+	private char next() {
+		char c = peek();
+		position++;
+		return c;
+	}
+
+	private void skipWhitespace() {
+		while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+			position++;
+		}
+	}
+
+	private FormsLibraryException error(String message) {
+		return new FormsLibraryException("Invalid JSON: " + message + " at position " + position + ".");
+	}
+}
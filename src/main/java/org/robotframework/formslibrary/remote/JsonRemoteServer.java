@@ -0,0 +1,191 @@
+package org.robotframework.formslibrary.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.robotframework.formslibrary.FormsLibrary;
+import org.robotframework.formslibrary.util.Logger;
+
+/**
+ * Remote server speaking a compact alternative to XML-RPC: every message is a
+ * 4 byte big-endian length followed by a UTF-8 JSON document. A connection can
+ * be used for any number of calls.
+ *
+ * A request is an object with the keyword name, the positional arguments and
+ * the named arguments:
+ *
+ * <pre>
+ * {"name": "setField", "args": ["username", "jeff"], "kwargs": {}}
+ * </pre>
+ *
+ * The response has the same fields as the result of the XML-RPC run_keyword
+ * call: status, return, output, error and traceback. The duration field holds
+ * the time in ms spent running the keyword, so the client can separate the
+ * transport overhead from the keyword itself.
+ *
+ * Connections are kept open between calls and use TCP_NODELAY, so small
+ * responses are not delayed by Nagle's algorithm.
+ */
+public class JsonRemoteServer {
+
+	/**
+	 * Maximum size of a single message in bytes.
+	 */
+	private static final int MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+
+	private static final Object KEYWORD_LOCK = new Object();
+
+	private final FormsLibrary library;
+
+	private ServerSocket serverSocket;
+
+	public JsonRemoteServer(FormsLibrary library) {
+		this.library = library;
+	}
+
+	/**
+	 * Start accepting connections.
+	 *
+	 * @param port
+	 *            port to listen on, 0 for any free port.
+	 * @return port the server listens on.
+	 */
+	public int start(int port) throws IOException {
+
+		serverSocket = new ServerSocket(port);
+		Thread acceptThread = new Thread(() -> acceptConnections(), "formslibrary-json-server");
+		acceptThread.setDaemon(true);
+		acceptThread.start();
+		return serverSocket.getLocalPort();
+	}
+
+	private void acceptConnections() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				socket.setKeepAlive(true);
+				Thread connectionThread = new Thread(() -> serve(socket), "formslibrary-json-connection");
+				connectionThread.setDaemon(true);
+				connectionThread.start();
+			} catch (IOException e) {
+				if (!serverSocket.isClosed()) {
+					Logger.error(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Handle requests on a connection until the client closes it.
+	 */
+	private void serve(Socket socket) {
+
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+			while (true) {
+				int length;
+				try {
+					length = in.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				if (length < 0 || length > MAX_MESSAGE_SIZE) {
+					throw new IOException("Invalid message size " + length);
+				}
+				byte[] request = new byte[length];
+				in.readFully(request);
+
+				byte[] response = JsonCodec.encode(handle(new String(request, StandardCharsets.UTF_8))).getBytes(StandardCharsets.UTF_8);
+				out.writeInt(response.length);
+				out.write(response);
+				out.flush();
+			}
+		} catch (IOException e) {
+			Logger.error(e);
+		} finally {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> handle(String request) {
+
+		Map<String, Object> result = new LinkedHashMap<String, Object>();
+		result.put("status", "FAIL");
+		result.put("return", "");
+		result.put("output", "");
+		result.put("error", "");
+		result.put("traceback", "");
+		result.put("duration", 0);
+
+		Map<String, Object> call;
+		try {
+			call = (Map<String, Object>) JsonCodec.decode(request);
+		} catch (RuntimeException e) {
+			result.put("error", "Invalid request: " + e.getMessage());
+			return result;
+		}
+
+		String name = (String) call.get("name");
+		Object[] args = call.get("args") instanceof Object[] ? (Object[]) call.get("args") : new Object[0];
+		Map<String, Object> kwargs = call.get("kwargs") instanceof Map ? (Map<String, Object>) call.get("kwargs") : null;
+
+		synchronized (KEYWORD_LOCK) {
+			// capture the keyword output like the XML-RPC remote server does
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			PrintStream originalOut = System.out;
+			long start = System.nanoTime();
+			try {
+				System.setOut(new PrintStream(output, true, "UTF-8"));
+				Object value = kwargs == null || kwargs.isEmpty() ? library.runKeyword(name, args) : library.runKeyword(name, args, kwargs);
+				result.put("status", "PASS");
+				result.put("return", value);
+			} catch (Throwable t) {
+				Throwable cause = unwrap(t);
+				String message = cause.getMessage();
+				result.put("error", message == null || message.isEmpty() ? cause.getClass().getSimpleName() : message);
+				result.put("traceback", getStackTrace(cause));
+			} finally {
+				System.out.flush();
+				System.setOut(originalOut);
+				result.put("duration", (System.nanoTime() - start) / 1000000.0);
+			}
+			result.put("output", new String(output.toByteArray(), StandardCharsets.UTF_8));
+		}
+		return result;
+	}
+
+	private static Throwable unwrap(Throwable t) {
+		while (t.getCause() != null && (t instanceof InvocationTargetException || t.getClass() == RuntimeException.class)) {
+			t = t.getCause();
+		}
+		return t;
+	}
+
+	private static String getStackTrace(Throwable t) {
+		StringWriter writer = new StringWriter();
+		t.printStackTrace(new PrintWriter(writer));
+		return writer.toString();
+	}
+}
@@ -0,0 +1,126 @@
+package org.robotframework.formslibrary.remote;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+import org.robotframework.formslibrary.FormsLibraryException;
+
+/**
+ * Compression of large keyword results. A result whose JSON form is larger
+ * than the threshold is returned as a string holding the gzip-compressed JSON
+ * in base64, after a fixed prefix. FormsLibrary.py recognizes the prefix and
+ * returns the decompressed value instead.
+ *
+ * The result is encoded only once: the JSON is buffered while it is not larger
+ * than the threshold, and compressed while encoding once it is. A small result
+ * is returned as it is, so encoding it costs at most the threshold.
+ */
+public class ResultCompression {
+
+	public static final String PREFIX = "formslibrary-gzip:";
+
+	private static volatile int threshold = 0;
+
+	/**
+	 * Buffers the JSON until it is larger than the threshold, then writes it
+	 * to a gzip stream.
+	 */
+	private static class ThresholdOutput implements Appendable {
+
+		private final int limit;
+
+		private final StringBuilder buffer = new StringBuilder();
+
+		private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+		private int size;
+
+		private Writer gzip;
+
+		private ThresholdOutput(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq) throws IOException {
+			return append(csq, 0, csq.length());
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) throws IOException {
+			if (gzip != null) {
+				gzip.append(csq, start, end);
+				return this;
+			}
+			for (int i = start; i < end; i++) {
+				append(csq.charAt(i));
+			}
+			return this;
+		}
+
+		@Override
+		public Appendable append(char c) throws IOException {
+			if (gzip != null) {
+				gzip.write(c);
+				return this;
+			}
+			// UTF-8 size, a surrogate pair takes 4 bytes
+			size += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+			buffer.append(c);
+			if (size > limit) {
+				gzip = new OutputStreamWriter(new GZIPOutputStream(compressed), StandardCharsets.UTF_8);
+				gzip.append(buffer);
+				buffer.setLength(0);
+			}
+			return this;
+		}
+
+		private boolean isCompressed() {
+			return gzip != null;
+		}
+
+		private byte[] finish() throws IOException {
+			gzip.close();
+			return compressed.toByteArray();
+		}
+	}
+
+	/**
+	 * Set the result size in bytes above which results are compressed, 0 to
+	 * disable compression.
+	 */
+	public static void setThreshold(int bytes) {
+		threshold = bytes;
+	}
+
+	/**
+	 * @return the compressed result, or the result itself when it is not
+	 *         larger than the threshold.
+	 */
+	public static Object compress(Object result) {
+
+		int limit = threshold;
+		if (limit <= 0 || result == null || result instanceof Number || result instanceof Boolean) {
+			return result;
+		}
+		if (result instanceof String && ((String) result).length() <= limit / 4) {
+			return result;
+		}
+
+		ThresholdOutput out = new ThresholdOutput(limit);
+		try {
+			JsonCodec.encode(result, out);
+			if (!out.isCompressed()) {
+				return result;
+			}
+			return PREFIX + Base64.getEncoder().encodeToString(out.finish());
+		} catch (IOException e) {
+			throw new FormsLibraryException(e);
+		}
+	}
+}
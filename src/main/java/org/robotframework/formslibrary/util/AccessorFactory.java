@@ -0,0 +1,135 @@
+package org.robotframework.formslibrary.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Factory for accessors to no-argument getters. The getters which are called
+ * for almost every component during a search are bound to a generated lambda
+ * or a method handle, so they can be inlined by the JIT. All other getters
+ * are called through reflection.
+ *
+ * Just like with reflection, anything thrown by a getter is wrapped in an
+ * InvocationTargetException, whatever the kind of accessor.
+ */
+public class AccessorFactory {
+
+	/**
+	 * Getters which are called most frequently on the oracle forms components.
+	 */
+	private static final Set<String> FAST_GETTERS = new HashSet<String>(
+			Arrays.asList("getText", "getLabel", "isVisible", "getState", "getSelectedItem", "getLWWindow", "getTitle"));
+
+	private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Accessor.class);
+
+	private static final MethodType GET_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	/**
+	 * Accessor for a single no-argument getter.
+	 */
+	public interface Accessor {
+
+		/**
+		 * Invoke the getter on the given target.
+		 *
+		 * @throws InvocationTargetException
+		 *             if the getter threw an exception or error.
+		 */
+		Object get(Object target) throws Exception;
+	}
+
+	/**
+	 * Create an accessor for the given no-argument method.
+	 */
+	public static Accessor createAccessor(Method method) {
+
+		if (FAST_GETTERS.contains(method.getName()) && method.getParameterTypes().length == 0
+				&& Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				MethodHandle handle = lookup.unreflect(method);
+				if (isVisible(method.getDeclaringClass())) {
+					return wrapExceptions(createLambdaAccessor(lookup, handle));
+				}
+				return createMethodHandleAccessor(handle);
+			} catch (Throwable t) {
+				Logger.debug("No fast accessor available for " + method + ": " + t);
+			}
+		}
+
+		return createReflectiveAccessor(method);
+	}
+
+	/**
+	 * Bind the getter to a lambda implementing Accessor, which results in a
+	 * direct call to the getter.
+	 */
+	private static Accessor createLambdaAccessor(MethodHandles.Lookup lookup, MethodHandle handle) throws Throwable {
+		CallSite site = LambdaMetafactory.metafactory(lookup, "get", ACCESSOR_TYPE, GET_TYPE, handle, handle.type().wrap());
+		return (Accessor) site.getTarget().invokeExact();
+	}
+
+	/**
+	 * Use a method handle for classes which are not visible to the library's
+	 * class loader, e.g. the oracle forms classes loaded by Java Web Start.
+	 */
+	private static Accessor createMethodHandleAccessor(MethodHandle handle) {
+		final MethodHandle getter = handle.asType(GET_TYPE);
+		return new Accessor() {
+			@Override
+			public Object get(Object target) throws Exception {
+				try {
+					return getter.invokeExact(target);
+				} catch (Throwable t) {
+					throw new InvocationTargetException(t);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Wrap whatever the generated lambda throws, like Method.invoke does.
+	 */
+	private static Accessor wrapExceptions(final Accessor accessor) {
+		return new Accessor() {
+			@Override
+			public Object get(Object target) throws Exception {
+				try {
+					return accessor.get(target);
+				} catch (Throwable t) {
+					throw new InvocationTargetException(t);
+				}
+			}
+		};
+	}
+
+	private static Accessor createReflectiveAccessor(final Method method) {
+		return new Accessor() {
+			@Override
+			public Object get(Object target) throws Exception {
+				return method.invoke(target);
+			}
+		};
+	}
+
+	/**
+	 * Check if a class can be resolved by name from the library's class loader.
+	 * Generated lambdas can only call methods of classes that are visible.
+	 */
+	private static boolean isVisible(Class<?> clazz) {
+		try {
+			return Class.forName(clazz.getName(), false, AccessorFactory.class.getClassLoader()) == clazz;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,349 @@
+package org.robotframework.formslibrary.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.robotframework.formslibrary.FormsLibraryException;
+
+/**
+ * Executor for actions which are started without waiting for them, e.g. a
+ * button push which opens a modal dialog. The number of threads and queued
+ * actions is bounded, so actions which block in the Oracle Forms client don't
+ * pile up threads.
+ *
+ * There is one pool per thread group of the submitting threads. The pool
+ * threads are created in that group, so they belong to the same AppContext as
+ * the keyword which started the action and see the same windows and event
+ * queue.
+ *
+ * Every action gets an id which can be used to wait for it and to get the
+ * exception it threw. Finished actions are kept until they are awaited or
+ * their exceptions are collected, up to a maximum number.
+ */
+public class AsyncActionExecutor {
+
+	private static final int THREADS = 4;
+
+	private static final int QUEUE_SIZE = 32;
+
+	/**
+	 * Idle time in ms after which pool threads end, so the thread group of a
+	 * closed AppContext is not kept alive by them.
+	 */
+	private static final long KEEP_ALIVE = 60000;
+
+	/**
+	 * Maximum number of finished actions which are kept.
+	 */
+	private static final int MAX_FINISHED = 100;
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	/**
+	 * Pools by thread group of the submitting threads.
+	 */
+	private static final Map<ThreadGroup, ThreadPoolExecutor> executors = new HashMap<ThreadGroup, ThreadPoolExecutor>();
+
+	private static final AtomicInteger actionCount = new AtomicInteger();
+
+	/**
+	 * Actions by id, in submission order.
+	 */
+	private static final Map<Integer, Action> actions = new LinkedHashMap<Integer, Action>();
+
+	private static final ActionMetrics metrics = new ActionMetrics();
+
+	/**
+	 * An action submitted to the executor.
+	 */
+	public static class Action {
+
+		private final int id;
+		private final String description;
+		private final String keyword;
+		private final long submitted = System.currentTimeMillis();
+		private volatile long started;
+		private volatile long finished;
+		private volatile Throwable error;
+		private Future<?> future;
+
+		private Action(int id, String description) {
+			this.id = id;
+			this.description = description;
+			this.keyword = DebugUtil.getCurrentKeyword();
+		}
+
+		public int getId() {
+			return id;
+		}
+
+		public boolean isFinished() {
+			return finished != 0;
+		}
+
+		/**
+		 * @return exception thrown by the action, or null.
+		 */
+		public Throwable getError() {
+			return error;
+		}
+
+		@Override
+		public String toString() {
+			long now = System.currentTimeMillis();
+			String state;
+			if (finished != 0) {
+				state = (error == null ? "finished" : "failed: " + error.getMessage()) + " after " + (finished - started) + " ms";
+			} else if (started != 0) {
+				state = "running for " + (now - started) + " ms";
+			} else {
+				state = "queued for " + (now - submitted) + " ms";
+			}
+			return id + " " + description + " [" + keyword + "] " + state;
+		}
+	}
+
+	/**
+	 * Queue depth and duration of the actions.
+	 */
+	private static class ActionMetrics {
+
+		private long count;
+		private long failures;
+		private long durationMillis;
+		private long maxDurationMillis;
+		private long queueMillis;
+		private int maxQueueDepth;
+
+		private synchronized void submitted(int queueDepth) {
+			maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+		}
+
+		private synchronized void finished(Action action) {
+			count++;
+			if (action.error != null) {
+				failures++;
+			}
+			long duration = action.finished - action.started;
+			durationMillis += duration;
+			maxDurationMillis = Math.max(maxDurationMillis, duration);
+			queueMillis += action.started - action.submitted;
+		}
+
+		private synchronized void reset() {
+			count = 0;
+			failures = 0;
+			durationMillis = 0;
+			maxDurationMillis = 0;
+			queueMillis = 0;
+			maxQueueDepth = 0;
+		}
+
+		@Override
+		public synchronized String toString() {
+			return String.format("actions=%d failures=%d duration[avg=%.1fms max=%dms] queue[avg wait=%.1fms depth=%d max depth=%d]", count,
+					failures, average(durationMillis), maxDurationMillis, average(queueMillis), getQueueDepth(), maxQueueDepth);
+		}
+
+		private double average(long total) {
+			return count == 0 ? 0 : (double) total / count;
+		}
+	}
+
+	/**
+	 * Submit an action.
+	 *
+	 * @return id of the action.
+	 * @throws FormsLibraryException
+	 *             when too many actions are running or queued.
+	 */
+	public static int submit(String description, Runnable runnable) {
+
+		final Action action = new Action(actionCount.incrementAndGet(), description);
+		ThreadPoolExecutor executor = getExecutor();
+		synchronized (actions) {
+			try {
+				action.future = executor.submit(() -> run(action, runnable));
+			} catch (RejectedExecutionException e) {
+				throw new FormsLibraryException("Too many async actions, could not start " + description + ".");
+			}
+			actions.put(action.id, action);
+			pruneFinished();
+		}
+		metrics.submitted(executor.getQueue().size());
+		Logger.debug("Started async action " + action.id + " " + description + ".");
+		return action.id;
+	}
+
+	/**
+	 * Get the pool for the thread group of the current thread, creating it when
+	 * needed. Pools of thread groups without any live threads are shut down.
+	 */
+	private static ThreadPoolExecutor getExecutor() {
+
+		ThreadGroup group = Thread.currentThread().getThreadGroup();
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+		synchronized (executors) {
+			Iterator<Map.Entry<ThreadGroup, ThreadPoolExecutor>> iterator = executors.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<ThreadGroup, ThreadPoolExecutor> entry = iterator.next();
+				if (entry.getKey().activeCount() == 0) {
+					entry.getValue().shutdownNow();
+					iterator.remove();
+				}
+			}
+
+			ThreadPoolExecutor executor = executors.get(group);
+			if (executor == null) {
+				executor = new ThreadPoolExecutor(THREADS, THREADS, KEEP_ALIVE, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(QUEUE_SIZE), r -> {
+					Thread thread = new Thread(group, r, "formslibrary-async-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					thread.setContextClassLoader(classLoader);
+					return thread;
+				});
+				executor.allowCoreThreadTimeOut(true);
+				executors.put(group, executor);
+			}
+			return executor;
+		}
+	}
+
+	/**
+	 * @return number of queued actions in all pools.
+	 */
+	private static int getQueueDepth() {
+		int depth = 0;
+		synchronized (executors) {
+			for (ThreadPoolExecutor executor : executors.values()) {
+				depth += executor.getQueue().size();
+			}
+		}
+		return depth;
+	}
+
+	private static void run(Action action, Runnable runnable) {
+		action.started = System.currentTimeMillis();
+		try {
+			runnable.run();
+		} catch (RuntimeException | Error e) {
+			action.error = e;
+		} finally {
+			action.finished = System.currentTimeMillis();
+			metrics.finished(action);
+		}
+	}
+
+	/**
+	 * Wait until an action is finished and remove it. The exception thrown by
+	 * the action is rethrown.
+	 *
+	 * @param timeout
+	 *            maximum time to wait in ms.
+	 */
+	public static void await(int id, long timeout) {
+
+		Action action;
+		synchronized (actions) {
+			action = actions.get(id);
+		}
+		if (action == null) {
+			throw new FormsLibraryException("No async action with id " + id + ".");
+		}
+
+		try {
+			action.future.get(timeout, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new FormsLibraryException("Async action " + action + " did not finish within " + timeout + " ms.");
+		} catch (InterruptedException e) {
+			throw new FormsLibraryException(e);
+		} catch (ExecutionException e) {
+			throw new FormsLibraryException(e.getCause());
+		}
+
+		synchronized (actions) {
+			actions.remove(id);
+		}
+		if (action.error != null) {
+			throw new FormsLibraryException("Async action " + action, action.error);
+		}
+	}
+
+	/**
+	 * Get the finished actions which threw an exception and remove them.
+	 */
+	public static List<Action> takeFailedActions() {
+		List<Action> result = new ArrayList<Action>();
+		synchronized (actions) {
+			Iterator<Action> iterator = actions.values().iterator();
+			while (iterator.hasNext()) {
+				Action action = iterator.next();
+				if (action.isFinished() && action.error != null) {
+					result.add(action);
+					iterator.remove();
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return actions which are queued or running.
+	 */
+	public static List<Action> getActiveActions() {
+		List<Action> result = new ArrayList<Action>();
+		synchronized (actions) {
+			for (Action action : actions.values()) {
+				if (!action.isFinished()) {
+					result.add(action);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return queue depth and action duration metrics.
+	 */
+	public static String getMetrics() {
+		return metrics.toString();
+	}
+
+	/**
+	 * Clear the queue depth and action duration metrics.
+	 */
+	public static void resetMetrics() {
+		metrics.reset();
+	}
+
+	/**
+	 * Remove the oldest finished actions when too many are kept.
+	 */
+	private static void pruneFinished() {
+		int finished = 0;
+		for (Action action : actions.values()) {
+			if (action.isFinished()) {
+				finished++;
+			}
+		}
+		Iterator<Action> iterator = actions.values().iterator();
+		while (finished > MAX_FINISHED && iterator.hasNext()) {
+			if (iterator.next().isFinished()) {
+				iterator.remove();
+				finished--;
+			}
+		}
+	}
+}
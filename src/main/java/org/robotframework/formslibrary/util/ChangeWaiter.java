@@ -0,0 +1,205 @@
+package org.robotframework.formslibrary.util;
+
+import java.awt.TextComponent;
+import java.awt.event.TextEvent;
+import java.awt.event.TextListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.robotframework.formslibrary.FormsLibraryException;
+
+/**
+ * Waits for a condition by listening to changes of the watched components.
+ *
+ * The listeners don't evaluate the condition, which may need the EDT, on the
+ * thread firing the event. They only test the new value carried by the event,
+ * or the text of the source read directly, against a value matcher. A match is
+ * latched, so a matching value is noticed even if it is replaced again before
+ * the waiting thread runs. Every event also wakes up the waiting thread, which
+ * checks the full condition.
+ *
+ * Components which don't fire events are covered by polling: with exponential
+ * backoff when nothing could be watched, otherwise at the maximum poll
+ * interval only.
+ */
+public class ChangeWaiter {
+
+	private final BooleanSupplier condition;
+
+	private final Predicate<String> valueMatcher;
+
+	private final CompletableFuture<Void> met = new CompletableFuture<Void>();
+
+	private final Semaphore changed = new Semaphore(0);
+
+	private final List<Object> sources = new ArrayList<Object>();
+
+	private final Listener listener = new Listener();
+
+	private class Listener implements PropertyChangeListener, TextListener {
+
+		@Override
+		public void propertyChange(PropertyChangeEvent evt) {
+			String property = evt.getPropertyName();
+			if (evt.getNewValue() instanceof String && ("text".equalsIgnoreCase(property) || "value".equalsIgnoreCase(property))) {
+				changed((String) evt.getNewValue());
+			} else {
+				changed(readText(evt.getSource()));
+			}
+		}
+
+		@Override
+		public void textValueChanged(TextEvent e) {
+			changed(readText(e.getSource()));
+		}
+	}
+
+	public ChangeWaiter(BooleanSupplier condition) {
+		this(condition, null);
+	}
+
+	/**
+	 * @param condition
+	 *            condition checked on the waiting thread.
+	 * @param valueMatcher
+	 *            test for the new value of a watched component, evaluated on
+	 *            the thread firing the change event. It must not wait for the
+	 *            EDT. A match ends the wait.
+	 */
+	public ChangeWaiter(BooleanSupplier condition, Predicate<String> valueMatcher) {
+		this.condition = condition;
+		this.valueMatcher = valueMatcher;
+	}
+
+	/**
+	 * Listen to changes of the given component or object. Text and property
+	 * change listeners are registered if the object supports them.
+	 *
+	 * @return true if a listener could be registered.
+	 */
+	public synchronized boolean watch(Object source) {
+
+		for (Object watched : sources) {
+			if (watched == source) {
+				return true;
+			}
+		}
+
+		boolean watching = ObjectUtil.invokeMethodIfExists(source, "addTextListener", TextListener.class, listener);
+		watching |= ObjectUtil.invokeMethodIfExists(source, "addPropertyChangeListener", PropertyChangeListener.class, listener);
+		if (watching) {
+			sources.add(source);
+		}
+		return watching;
+	}
+
+	/**
+	 * Wait until the condition is met. A FormsLibraryException thrown by the
+	 * condition counts as not met. All listeners are removed when the wait ends.
+	 *
+	 * @param description
+	 *            description of the condition, used in the failure message.
+	 * @param timeout
+	 *            maximum time to wait in ms.
+	 * @throws FormsLibraryException
+	 *             when the condition is still not met after the timeout.
+	 */
+	public void waitUntilMet(String description, long timeout) {
+
+		long start = System.currentTimeMillis();
+		long interval = WaitUtil.MIN_POLL_INTERVAL;
+		String lastError = null;
+
+		try {
+			while (!met.isDone()) {
+				try {
+					if (condition.getAsBoolean()) {
+						break;
+					}
+				} catch (FormsLibraryException e) {
+					lastError = e.getMessage();
+				}
+
+				long remaining = start + timeout - System.currentTimeMillis();
+				if (remaining <= 0) {
+					String message = "Timeout after " + timeout + " ms waiting for " + description + ".";
+					if (lastError != null) {
+						message += " Last error: " + lastError;
+					}
+					throw new FormsLibraryException(message);
+				}
+
+				// listeners signal a change, polling is only a fallback
+				long wait = isWatching() ? WaitUtil.MAX_POLL_INTERVAL : interval;
+				try {
+					if (changed.tryAcquire(Math.min(wait, remaining), TimeUnit.MILLISECONDS)) {
+						// one check covers all changes signalled so far
+						changed.drainPermits();
+					} else {
+						interval = Math.min(interval * 2, WaitUtil.MAX_POLL_INTERVAL);
+					}
+				} catch (InterruptedException e) {
+					throw new FormsLibraryException(e);
+				}
+			}
+		} finally {
+			unwatchAll();
+		}
+
+		Logger.debug("Condition '" + description + "' met after " + (System.currentTimeMillis() - start) + " ms.");
+	}
+
+	private synchronized boolean isWatching() {
+		return !sources.isEmpty();
+	}
+
+	/**
+	 * Called on the thread firing the change event.
+	 */
+	private void changed(String value) {
+		if (valueMatcher != null && value != null && !met.isDone()) {
+			try {
+				if (valueMatcher.test(value)) {
+					met.complete(null);
+				}
+			} catch (RuntimeException e) {
+				// the waiting thread checks the condition
+			}
+		}
+		if (changed.availablePermits() == 0) {
+			changed.release();
+		}
+	}
+
+	/**
+	 * Read the text of an event source directly, without going through the EDT.
+	 *
+	 * @return the text or null if the source has no text.
+	 */
+	private static String readText(Object source) {
+		if (source instanceof TextComponent) {
+			return ((TextComponent) source).getText();
+		}
+		try {
+			Object text = source.getClass().getMethod("getText").invoke(source);
+			return text == null ? null : text.toString();
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private synchronized void unwatchAll() {
+		for (Object source : sources) {
+			ObjectUtil.invokeMethodIfExists(source, "removeTextListener", TextListener.class, listener);
+			ObjectUtil.invokeMethodIfExists(source, "removePropertyChangeListener", PropertyChangeListener.class, listener);
+		}
+		sources.clear();
+	}
+}
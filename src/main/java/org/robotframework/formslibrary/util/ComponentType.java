@@ -1,5 +1,7 @@
 package org.robotframework.formslibrary.util;
 
+import java.util.EnumSet;
+
 /**
  * Enum for all the different Oracle Forms Components supported by FormsLibrary.
  */
@@ -51,10 +53,41 @@ public enum ComponentType {
 			LWTEXT_FIELD };
 	public static final ComponentType[] ALL_SCROLL_BAR_TYPES = new ComponentType[] { SCROLL_BAR, SCROLL_BAR_BOX };
 
+	/**
+	 * Type masks for each concrete class, based on the exact class name.
+	 */
+	private static final ClassValue<Long> CLASS_TYPES = new ClassValue<Long>() {
+		@Override
+		protected Long computeValue(Class<?> type) {
+			return getMask(type.getName());
+		}
+	};
+
+	/**
+	 * Type masks for each concrete class, including the types of all its super
+	 * classes.
+	 */
+	private static final ClassValue<Long> CLASS_HIERARCHY_TYPES = new ClassValue<Long>() {
+		@Override
+		protected Long computeValue(Class<?> type) {
+			long mask = 0;
+			for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+				mask |= getMask(c.getName());
+			}
+			return mask;
+		}
+	};
+
+	private static boolean subclassMatchingEnabled = false;
+
 	private String className;
 
+	private long bit;
+
 	private ComponentType(String className) {
 		this.className = className;
+		// all types need to fit in a single long mask
+		this.bit = 1L << ordinal();
 	}
 
 	public String toString() {
@@ -65,6 +98,78 @@ public enum ComponentType {
 	 * Check if a given object matches this component type.
 	 */
 	public boolean matches(Object o) {
-		return className.equals(o.getClass().getName());
+		return (getTypeMask(o) & bit) != 0;
+	}
+
+	/**
+	 * Check if a given object matches any of the component types in the mask.
+	 * 
+	 * @param typeMask
+	 *            mask created with {@link #mask(ComponentType...)}
+	 */
+	public static boolean matchesAny(Object o, long typeMask) {
+		return (getTypeMask(o) & typeMask) != 0;
+	}
+
+	/**
+	 * Create a mask containing the given component types.
+	 */
+	public static long mask(ComponentType... types) {
+		long mask = 0;
+		if (types != null) {
+			for (ComponentType type : types) {
+				mask |= type.bit;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * @return all component types the object is classified as.
+	 */
+	public static EnumSet<ComponentType> getTypes(Object o) {
+		EnumSet<ComponentType> types = EnumSet.noneOf(ComponentType.class);
+		long mask = getTypeMask(o);
+		if (mask != 0) {
+			for (ComponentType type : values()) {
+				if ((mask & type.bit) != 0) {
+					types.add(type);
+				}
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * @return mask of all component types the object's class is classified
+	 *         as. The classification is done only once per class.
+	 */
+	private static long getTypeMask(Object o) {
+		if (o == null) {
+			return 0;
+		}
+		if (subclassMatchingEnabled) {
+			return CLASS_HIERARCHY_TYPES.get(o.getClass());
+		}
+		return CLASS_TYPES.get(o.getClass());
+	}
+
+	private static long getMask(String className) {
+		long mask = 0;
+		for (ComponentType type : values()) {
+			if (type.className.equals(className)) {
+				mask |= type.bit;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * Enable or disable matching of subclasses. When enabled, custom subclasses
+	 * of the supported components (e.g. a subclass of VTextField) are
+	 * recognized as the component type of their super class.
+	 */
+	public static void setSubclassMatchingEnabled(boolean enabled) {
+		subclassMatchingEnabled = enabled;
 	}
 }
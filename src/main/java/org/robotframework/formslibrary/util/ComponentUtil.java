@@ -22,6 +22,19 @@ import org.robotframework.formslibrary.FormsLibraryException;
  */
 public class ComponentUtil {
 
+	private static final long TEXT_NAMED_TYPES = ComponentType.mask(ComponentType.JBUTTON, ComponentType.JRADIO_BUTTON, ComponentType.LABEL,
+			ComponentType.JLABEL);
+
+	private static final long LABEL_NAMED_TYPES = ComponentType.mask(ComponentType.PUSH_BUTTON, ComponentType.MENU, ComponentType.CHECK_BOX,
+			ComponentType.EXTENDED_CHECKBOX, ComponentType.LW_BUTTON);
+
+	static final long WINDOW_TYPES = ComponentType.mask(ComponentType.EXTENDED_FRAME, ComponentType.FORM_DESKTOP);
+
+	private static final long EDITABLE_TYPES = ComponentType.mask(ComponentType.TEXT_FIELD, ComponentType.TEXT_AREA, ComponentType.LWTEXT_FIELD);
+
+	private static final long VALUE_TYPES = ComponentType.mask(ComponentType.JTEXT_FIELD, ComponentType.TEXT_FIELD, ComponentType.JNUMBER_FIELD,
+			ComponentType.LWTEXT_FIELD);
+
 	/**
 	 * Get component names in format 'name (alternative name)(alternative name)'
 	 */
@@ -60,20 +73,18 @@ public class ComponentUtil {
 	 * Get a list of all valid names for a component. Names can be the label,
 	 * accessible text, tooltip text or the default component name.
 	 */
-	private static List<String> getComponentNames(Component component) {
+	public static List<String> getComponentNames(Component component) {
 
 		List<String> componentNames = new ArrayList<String>();
 
-		if (ComponentType.JBUTTON.matches(component) || ComponentType.JRADIO_BUTTON.matches(component) || ComponentType.LABEL.matches(component)
-				|| ComponentType.JLABEL.matches(component)) {
+		if (ComponentType.matchesAny(component, TEXT_NAMED_TYPES)) {
 			String text = ObjectUtil.getString(component, "getText()");
 			if (text != null) {
 				componentNames.add(text.trim());
 			}
 		}
 
-		if (ComponentType.PUSH_BUTTON.matches(component) || ComponentType.MENU.matches(component) || ComponentType.CHECK_BOX.matches(component)
-				|| ComponentType.EXTENDED_CHECKBOX.matches(component) || ComponentType.LW_BUTTON.matches(component)) {
+		if (ComponentType.matchesAny(component, LABEL_NAMED_TYPES)) {
 			String label = ObjectUtil.getString(component, "getLabel()");
 			if (label != null) {
 				componentNames.add(label.trim());
@@ -118,7 +129,7 @@ public class ComponentUtil {
 		int y = component.getY();
 
 		Component parent = component.getParent();
-		while (parent != null && !ComponentType.EXTENDED_FRAME.matches(parent) && !ComponentType.FORM_DESKTOP.matches(parent)) {
+		while (parent != null && !ComponentType.matchesAny(parent, WINDOW_TYPES)) {
 			x = x + parent.getX();
 			y = y + parent.getY();
 			parent = parent.getParent();
@@ -173,8 +184,7 @@ public class ComponentUtil {
 	public static boolean isEditable(Component component) {
 
 		boolean editable = false;
-		if (ComponentType.TEXT_FIELD.matches(component) || ComponentType.TEXT_AREA.matches(component)
-				|| ComponentType.LWTEXT_FIELD.matches(component)) {
+		if (ComponentType.matchesAny(component, EDITABLE_TYPES)) {
 			editable = ObjectUtil.getBoolean(component, "isEditable()");
 		}
 		return editable;
@@ -208,16 +218,13 @@ public class ComponentUtil {
 
 	/**
 	 * Check if a component contains another component in its child components.
+	 * Only the parents of the component are checked, so the cost depends on
+	 * the depth of the component and not on the size of the parent.
 	 */
 	public static boolean containsComponent(Component parent, Component component) {
-		if (parent == component) {
-			return true;
-		} else if (parent instanceof Container) {
-			Component[] childComponents = ((Container) parent).getComponents();
-			for (Component child : childComponents) {
-				if (containsComponent(child, component)) {
-					return true;
-				}
+		for (Component c = component; c != null; c = c.getParent()) {
+			if (c == parent) {
+				return true;
 			}
 		}
 		return false;
@@ -327,8 +334,7 @@ public class ComponentUtil {
 	}
 
 	public static String getValue(Component component) {
-		if (ComponentType.JTEXT_FIELD.matches(component) || ComponentType.TEXT_FIELD.matches(component)
-				|| ComponentType.JNUMBER_FIELD.matches(component) || ComponentType.LWTEXT_FIELD.matches(component)) {
+		if (ComponentType.matchesAny(component, VALUE_TYPES)) {
 			String value = ObjectUtil.getString(component, "getText()");
 			if (value != null) {
 				return " -> " + value;
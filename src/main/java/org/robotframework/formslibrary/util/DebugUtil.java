@@ -3,7 +3,8 @@ package org.robotframework.formslibrary.util;
 import org.robotframework.formslibrary.FormsLibraryException;
 
 /**
- * Utility class to keep track of the debug logging level and debug delays.
+ * Utility class to keep track of the debug logging level, debug delays and the
+ * keyword which is currently running.
  */
 public class DebugUtil {
 
@@ -11,6 +12,14 @@ public class DebugUtil {
 
     private static int keywordDelay = 0;
 
+    private static boolean adaptivePacing;
+
+    private static int adaptivePacingTimeout = 10000;
+
+    private static volatile String currentKeyword;
+
+    private static volatile String lastKeyword;
+
     /**
      * @return true if debug logging is enabled.
      */
@@ -25,6 +34,32 @@ public class DebugUtil {
         DebugUtil.debugEnabled = debugEnabled;
     }
 
+    /**
+     * @return name of the keyword which is currently running, or null if no
+     *         keyword is running.
+     */
+    public static String getCurrentKeyword() {
+        return currentKeyword;
+    }
+
+    /**
+     * Register the keyword which is currently running.
+     */
+    public static void setCurrentKeyword(String keywordName) {
+        DebugUtil.currentKeyword = keywordName;
+        if (keywordName != null) {
+            DebugUtil.lastKeyword = keywordName;
+        }
+    }
+
+    /**
+     * @return name of the keyword which is currently running or, if no keyword
+     *         is running, the keyword which ran last.
+     */
+    public static String getLastKeyword() {
+        return lastKeyword;
+    }
+
     /**
      * Delay each operation creation with the given delay.
      * 
@@ -35,13 +70,28 @@ public class DebugUtil {
         DebugUtil.keywordDelay = keywordDelay;
     }
 
+    /**
+     * Instead of the fixed keyword delay, wait until the client is idle before
+     * constructing operators.
+     * 
+     * @param timeout
+     *            maximum time in ms to wait for the client
+     */
+    public static void setAdaptivePacing(boolean enabled, int timeout) {
+        DebugUtil.adaptivePacing = enabled;
+        DebugUtil.adaptivePacingTimeout = timeout;
+    }
+
     /**
      * To prevent screen actions from happening so fast that it is not possible
      * to view what is happening, we delay the constructing of operators with
-     * the specified keyword delay.
+     * the specified keyword delay. With adaptive pacing, we only wait until the
+     * client is no longer busy.
      */
     public static void applyKeywordDelay() {
-        if (keywordDelay > 0) {
+        if (adaptivePacing) {
+            IdleDetector.waitUntilIdle(adaptivePacingTimeout, IdleDetector.DEFAULT_QUIET_PERIOD);
+        } else if (keywordDelay > 0) {
             try {
                 Thread.sleep(keywordDelay);
             } catch (InterruptedException e) {
@@ -0,0 +1,237 @@
+package org.robotframework.formslibrary.util;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.netbeans.jemmy.JemmyProperties;
+import org.robotframework.formslibrary.FormsLibraryException;
+
+/**
+ * Utility class to run the read phase of a keyword on the event dispatch
+ * thread. All component reads (traversal, names, values and geometry) of the
+ * keyword are done in a single EDT invocation, so the components cannot change
+ * halfway through and the keyword only has to wait for the busy EDT once.
+ *
+ * For every keyword, the time spent waiting for the EDT and the time spent
+ * holding the EDT is recorded. Messages logged during the read phase are
+ * buffered and only written to the keyword output after the EDT is released.
+ *
+ * The wait for the EDT is bounded by the jemmy queue invocation timeout, so a
+ * keyword fails instead of hanging when the EDT is blocked, e.g. by a long
+ * server round trip.
+ */
+public class EdtUtil {
+
+	private static final String TIMEOUT_NAME = "QueueTool.InvocationTimeout";
+
+	/**
+	 * Timeout in ms used when jemmy has no queue invocation timeout.
+	 */
+	private static final long DEFAULT_TIMEOUT = 180000;
+
+	private static final Runnable NO_OP = new Runnable() {
+		@Override
+		public void run() {
+			// nothing to do
+		}
+	};
+
+	private static final Map<String, EdtMetrics> METRICS = new ConcurrentHashMap<String, EdtMetrics>();
+
+	/**
+	 * EDT wait and hold times of a single keyword.
+	 */
+	private static class EdtMetrics {
+
+		private long count;
+		private long waitNanos;
+		private long maxWaitNanos;
+		private long holdNanos;
+		private long maxHoldNanos;
+
+		private synchronized void add(long wait, long hold) {
+			count++;
+			waitNanos += wait;
+			maxWaitNanos = Math.max(maxWaitNanos, wait);
+			holdNanos += hold;
+			maxHoldNanos = Math.max(maxHoldNanos, hold);
+		}
+
+		@Override
+		public synchronized String toString() {
+			return String.format("calls=%d wait[total=%.1fms max=%.1fms] hold[total=%.1fms max=%.1fms]", count, toMillis(waitNanos),
+					toMillis(maxWaitNanos), toMillis(holdNanos), toMillis(maxHoldNanos));
+		}
+
+		private static double toMillis(long nanos) {
+			return nanos / 1000000.0;
+		}
+	}
+
+	/**
+	 * Run the reader on the event dispatch thread and return its result. The
+	 * reader should only read from the components and return a snapshot of
+	 * the values it needs, which is then processed outside of the EDT. It must
+	 * never wait for the UI, since the UI cannot change while it is running.
+	 */
+	public static <T> T read(final Callable<T> reader) {
+
+		if (EventQueue.isDispatchThread()) {
+			return call(reader);
+		}
+
+		final AtomicReference<T> result = new AtomicReference<T>();
+		final AtomicReference<List<String>> messages = new AtomicReference<List<String>>();
+		final long submitted = System.nanoTime();
+
+		long timeout = getTimeout();
+		try {
+			boolean done = invokeAndWait(new Runnable() {
+				@Override
+				public void run() {
+					long start = System.nanoTime();
+					Logger.startBuffering();
+					try {
+						result.set(call(reader));
+					} finally {
+						messages.set(Logger.stopBuffering());
+						recordMetrics(start - submitted, System.nanoTime() - start);
+					}
+				}
+			}, timeout);
+			if (!done) {
+				throw timeoutError(timeout);
+			}
+		} finally {
+			if (messages.get() != null) {
+				Logger.log(messages.get());
+			}
+		}
+
+		return result.get();
+	}
+
+	/**
+	 * Wait until the event dispatch thread has dispatched all the events which
+	 * were posted so far.
+	 *
+	 * @throws FormsLibraryException
+	 *             when the EDT does not get to it within the jemmy queue
+	 *             invocation timeout.
+	 */
+	public static void flush() {
+		long timeout = getTimeout();
+		if (!flush(timeout)) {
+			throw timeoutError(timeout);
+		}
+	}
+
+	/**
+	 * Wait until the event dispatch thread has dispatched all the events which
+	 * were posted so far, or until the timeout expires.
+	 *
+	 * @param timeout
+	 *            maximum time to wait in ms.
+	 * @return false if the timeout expired.
+	 */
+	public static boolean flush(long timeout) {
+		if (EventQueue.isDispatchThread()) {
+			return true;
+		}
+		return invokeAndWait(NO_OP, timeout);
+	}
+
+	/**
+	 * Run the runnable on the event dispatch thread and wait for it at most
+	 * timeout ms. When the timeout expires, the runnable is cancelled if it
+	 * did not start yet.
+	 *
+	 * @return false if the timeout expired.
+	 */
+	private static boolean invokeAndWait(Runnable runnable, long timeout) {
+
+		FutureTask<Void> task = new FutureTask<Void>(runnable, null);
+		EventQueue.invokeLater(task);
+		try {
+			task.get(timeout, TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			task.cancel(false);
+			return false;
+		} catch (InterruptedException e) {
+			task.cancel(false);
+			throw new FormsLibraryException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new FormsLibraryException(cause);
+		}
+	}
+
+	/**
+	 * @return the jemmy queue invocation timeout in ms.
+	 */
+	private static long getTimeout() {
+		long timeout = JemmyProperties.getCurrentTimeout(TIMEOUT_NAME);
+		return timeout > 0 ? timeout : DEFAULT_TIMEOUT;
+	}
+
+	private static FormsLibraryException timeoutError(long timeout) {
+		return new FormsLibraryException("Event dispatch thread did not respond within " + timeout + " ms.");
+	}
+
+	private static <T> T call(Callable<T> reader) {
+		try {
+			return reader.call();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new FormsLibraryException(e);
+		}
+	}
+
+	private static void recordMetrics(long waitNanos, long holdNanos) {
+		String keyword = DebugUtil.getCurrentKeyword();
+		if (keyword == null) {
+			keyword = "";
+		}
+		EdtMetrics metrics = METRICS.get(keyword);
+		if (metrics == null) {
+			METRICS.putIfAbsent(keyword, new EdtMetrics());
+			metrics = METRICS.get(keyword);
+		}
+		metrics.add(waitNanos, holdNanos);
+	}
+
+	/**
+	 * @return EDT wait and hold times per keyword, sorted by keyword name.
+	 */
+	public static List<String> getMetrics() {
+		List<String> result = new ArrayList<String>();
+		for (Map.Entry<String, EdtMetrics> entry : new TreeMap<String, EdtMetrics>(METRICS).entrySet()) {
+			result.add(entry.getKey() + " : " + entry.getValue());
+		}
+		return result;
+	}
+
+	/**
+	 * Clear all recorded EDT wait and hold times.
+	 */
+	public static void resetMetrics() {
+		METRICS.clear();
+	}
+}
@@ -0,0 +1,120 @@
+package org.robotframework.formslibrary.util;
+
+import java.awt.AWTEvent;
+import java.awt.Cursor;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.AWTEventListener;
+
+import org.robotframework.formslibrary.FormsLibraryException;
+
+/**
+ * Detects when the Oracle Forms client is idle. The client is considered idle
+ * when the AWT event queue is empty, no events were dispatched during a quiet
+ * period and none of the windows shows a busy (hourglass) cursor.
+ *
+ * The Oracle Forms engine talks to the server from the event dispatch thread,
+ * so a no-op event is posted and waited for first: it only runs when the engine
+ * is done dispatching the events which were queued before it.
+ */
+public class IdleDetector {
+
+	private static final long EVENT_MASK = AWTEvent.PAINT_EVENT_MASK | AWTEvent.COMPONENT_EVENT_MASK | AWTEvent.CONTAINER_EVENT_MASK
+			| AWTEvent.WINDOW_EVENT_MASK | AWTEvent.FOCUS_EVENT_MASK | AWTEvent.KEY_EVENT_MASK | AWTEvent.MOUSE_EVENT_MASK;
+
+	private static final long POLL_INTERVAL = 10;
+
+	/**
+	 * Default time in ms during which no events may be dispatched.
+	 */
+	public static final long DEFAULT_QUIET_PERIOD = 50;
+
+	private static volatile long lastEventTime = System.currentTimeMillis();
+
+	private static boolean listening = false;
+
+	/**
+	 * Wait until the client is idle.
+	 *
+	 * @param timeout
+	 *            maximum time to wait in ms.
+	 * @param quietPeriod
+	 *            time in ms during which no events may be dispatched.
+	 * @return true if the client became idle, false if the timeout expired.
+	 */
+	public static boolean waitUntilIdle(long timeout, long quietPeriod) {
+
+		if (EventQueue.isDispatchThread()) {
+			// the client cannot become idle while we are blocking it
+			return false;
+		}
+
+		startListening();
+
+		long deadline = System.currentTimeMillis() + timeout;
+		while (true) {
+			if (isIdle(quietPeriod, Math.max(deadline - System.currentTimeMillis(), 1))) {
+				return true;
+			}
+			if (System.currentTimeMillis() >= deadline) {
+				Logger.debug("Client still busy after " + timeout + " ms.");
+				return false;
+			}
+			try {
+				Thread.sleep(POLL_INTERVAL);
+			} catch (InterruptedException e) {
+				throw new FormsLibraryException(e);
+			}
+		}
+	}
+
+	/**
+	 * Check if the client is idle now.
+	 *
+	 * @param timeout
+	 *            maximum time in ms to wait for the event queue.
+	 */
+	private static boolean isIdle(long quietPeriod, long timeout) {
+
+		// let the event queue process everything that was posted so far
+		if (!EdtUtil.flush(timeout)) {
+			return false;
+		}
+
+		if (Toolkit.getDefaultToolkit().getSystemEventQueue().peekEvent() != null) {
+			return false;
+		}
+
+		if (System.currentTimeMillis() - lastEventTime < quietPeriod) {
+			return false;
+		}
+
+		return !isBusyCursorShown();
+	}
+
+	/**
+	 * Check if one of the visible windows shows the hourglass cursor, which
+	 * Oracle Forms uses while it is waiting for the server.
+	 */
+	private static boolean isBusyCursorShown() {
+		for (Window window : Window.getWindows()) {
+			if (window.isShowing() && window.getCursor().getType() == Cursor.WAIT_CURSOR) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static synchronized void startListening() {
+		if (!listening) {
+			Toolkit.getDefaultToolkit().addAWTEventListener(new AWTEventListener() {
+				@Override
+				public void eventDispatched(AWTEvent event) {
+					lastEventTime = System.currentTimeMillis();
+				}
+			}, EVENT_MASK);
+			listening = true;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package org.robotframework.formslibrary.util;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Point;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Cache for the locations of components relative to their window. The offset
+ * of every container is computed only once from the cached offset of its
+ * parent, so components sharing parents don't walk the same parent chain
+ * again. The cache doesn't track changes and should only be used for a
+ * single query, or as long as no components are moved.
+ */
+public class LocationCache {
+
+	private static final Point ORIGIN = new Point(0, 0);
+
+	private final Map<Component, Point> offsets = new IdentityHashMap<Component, Point>();
+
+	/**
+	 * Get the location of the component relative to its window. Same as
+	 * ComponentUtil.getLocationInWindow, but using the cached parent offsets.
+	 */
+	public Point getLocation(Component component) {
+		Point offset = getOffset(component.getParent());
+		return new Point(offset.x + component.getX(), offset.y + component.getY());
+	}
+
+	/**
+	 * Get a sort key for the location of the component, which orders
+	 * components from top to bottom and left to right.
+	 */
+	public long getSortKey(Component component) {
+		Point offset = getOffset(component.getParent());
+		return toSortKey(offset.x + component.getX(), offset.y + component.getY());
+	}
+
+	/**
+	 * Combine the coordinates in a single value, with y in the high order bits
+	 * and x, shifted to a positive value, in the low order bits.
+	 */
+	private static long toSortKey(int x, int y) {
+		return ((long) y << 32) + ((long) x - Integer.MIN_VALUE);
+	}
+
+	/**
+	 * Get the location in the window of the top left corner of a container.
+	 */
+	private Point getOffset(Container container) {
+
+		if (container == null || ComponentType.matchesAny(container, ComponentUtil.WINDOW_TYPES)) {
+			return ORIGIN;
+		}
+
+		Point offset = offsets.get(container);
+		if (offset == null) {
+			Point parentOffset = getOffset(container.getParent());
+			offset = new Point(parentOffset.x + container.getX(), parentOffset.y + container.getY());
+			offsets.put(container, offset);
+		}
+		return offset;
+	}
+}
@@ -1,19 +1,61 @@
 package org.robotframework.formslibrary.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Very, very simple logger implementation which allows debug logging to be
- * disabled.
+ * disabled. Messages can be buffered per thread, so code running on the event
+ * dispatch thread doesn't have to write to the keyword output.
  */
 public class Logger {
 
+    private static final ThreadLocal<List<String>> BUFFER = new ThreadLocal<List<String>>();
+
     public static void debug(String message) {
         if (DebugUtil.isDebugEnabled()) {
-            System.out.println("~ " + message);
+            print("~ " + message);
         }
     }
 
     public static void info(String message) {
-        System.out.println(message);
+        print(message);
+    }
+
+    /**
+     * Keep the messages logged by the current thread until stopBuffering is
+     * called.
+     */
+    public static void startBuffering() {
+        BUFFER.set(new ArrayList<String>());
+    }
+
+    /**
+     * @return the messages logged by the current thread since startBuffering.
+     */
+    public static List<String> stopBuffering() {
+        List<String> messages = BUFFER.get();
+        BUFFER.remove();
+        return messages == null ? Collections.<String> emptyList() : messages;
+    }
+
+    /**
+     * Log messages which were buffered on another thread.
+     */
+    public static void log(List<String> messages) {
+        for (String message : messages) {
+            print(message);
+        }
+    }
+
+    private static void print(String message) {
+        List<String> buffer = BUFFER.get();
+        if (buffer != null) {
+            buffer.add(message);
+        } else {
+            System.out.println(message);
+        }
     }
 
     public static void error(Throwable t) {
@@ -3,9 +3,14 @@ package org.robotframework.formslibrary.util;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.robotframework.formslibrary.FormsLibraryException;
+import org.robotframework.formslibrary.util.AccessorFactory.Accessor;
 
 /**
  * Adding frmall.jar (which contains all the Oracle Forms classes) to the java
@@ -15,6 +20,59 @@ import org.robotframework.formslibrary.FormsLibraryException;
  */
 public class ObjectUtil {
 
+	/**
+	 * Parsed method paths, e.g. "getLWWindow().getTitle()" -> [getLWWindow,
+	 * getTitle].
+	 */
+	private static final Map<String, String[]> METHOD_PATHS = new ConcurrentHashMap<String, String[]>();
+
+	/**
+	 * Resolved methods per class, keyed by method name and parameter types.
+	 * Methods which don't exist are cached as well, so repeated misses don't
+	 * require a new lookup.
+	 */
+	private static final ClassValue<Map<String, Optional<Method>>> METHODS = new ClassValue<Map<String, Optional<Method>>>() {
+		@Override
+		protected Map<String, Optional<Method>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<String, Optional<Method>>();
+		}
+	};
+
+	/**
+	 * Accessors for no-argument methods per class, keyed by method name.
+	 */
+	private static final ClassValue<Map<String, Accessor>> ACCESSORS = new ClassValue<Map<String, Accessor>>() {
+		@Override
+		protected Map<String, Accessor> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<String, Accessor>();
+		}
+	};
+
+	/**
+	 * Resolved fields per class, including the ones inherited from super
+	 * classes. Fields which don't exist are cached as well.
+	 */
+	private static final ClassValue<Map<String, Optional<Field>>> FIELDS = new ClassValue<Map<String, Optional<Field>>>() {
+		@Override
+		protected Map<String, Optional<Field>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<String, Optional<Field>>();
+		}
+	};
+
+	/**
+	 * Names of the fields declared in a class.
+	 */
+	private static final ClassValue<List<String>> FIELD_NAMES = new ClassValue<List<String>>() {
+		@Override
+		protected List<String> computeValue(Class<?> type) {
+			List<String> names = new ArrayList<String>();
+			for (Field field : type.getDeclaredFields()) {
+				names.add(field.getName());
+			}
+			return Collections.unmodifiableList(names);
+		}
+	};
+
 	/**
 	 * Remove brackets () from method path.
 	 */
@@ -23,7 +81,83 @@ public class ObjectUtil {
 		if (methodPath == null || methodPath.trim().length() == 0) {
 			return null;
 		}
-		return methodPath.replaceAll("\\(", "").replaceAll("\\)", "");
+		return methodPath.replace("(", "").replace(")", "");
+	}
+
+	/**
+	 * Split a method path into the individual method names to call. The result
+	 * is cached, so every path is only parsed once.
+	 * 
+	 * @return method names or null if the path is empty.
+	 */
+	private static String[] parseMethodPath(String methodPath) {
+
+		if (methodPath == null) {
+			return null;
+		}
+
+		String[] methodNames = METHOD_PATHS.get(methodPath);
+		if (methodNames == null) {
+			String path = cleanMethodPath(methodPath);
+			if (path == null) {
+				return null;
+			}
+			methodNames = path.split("\\.");
+			METHOD_PATHS.put(methodPath, methodNames);
+		}
+		return methodNames;
+	}
+
+	/**
+	 * Get a public method of a class. Lookups are cached per class.
+	 * 
+	 * @param methodName
+	 *            method name, with or without brackets.
+	 */
+	private static Method getMethod(Class<?> clazz, String methodName, Class<?>... parameterTypes) throws NoSuchMethodException {
+
+		String key = getMethodKey(methodName, parameterTypes);
+		Map<String, Optional<Method>> methods = METHODS.get(clazz);
+		Optional<Method> method = methods.get(key);
+		if (method == null) {
+			try {
+				method = Optional.of(clazz.getMethod(cleanMethodPath(methodName), parameterTypes));
+			} catch (NoSuchMethodException e) {
+				method = Optional.empty();
+			}
+			methods.put(key, method);
+		}
+
+		if (!method.isPresent()) {
+			throw new NoSuchMethodException(clazz.getName() + "." + methodName);
+		}
+		return method.get();
+	}
+
+	/**
+	 * Invoke a no-argument method using a cached accessor.
+	 */
+	private static Object invokeGetter(Object object, String methodName) throws Exception {
+
+		Map<String, Accessor> accessors = ACCESSORS.get(object.getClass());
+		Accessor accessor = accessors.get(methodName);
+		if (accessor == null) {
+			accessor = AccessorFactory.createAccessor(getMethod(object.getClass(), methodName));
+			accessors.put(methodName, accessor);
+		}
+		return accessor.get(object);
+	}
+
+	private static String getMethodKey(String methodName, Class<?>... parameterTypes) {
+
+		if (parameterTypes.length == 0) {
+			return methodName;
+		}
+		StringBuilder builder = new StringBuilder(methodName);
+		for (Class<?> parameterType : parameterTypes) {
+			builder.append(':').append(parameterType.getName());
+		}
+		return builder.toString();
 	}
 
 	/**
@@ -32,8 +166,7 @@ public class ObjectUtil {
 	public static boolean getBoolean(Object object, String methodName) {
 
 		try {
-			Method m = object.getClass().getMethod(cleanMethodPath(methodName));
-			return (Boolean) m.invoke(object);
+			return (Boolean) invokeGetter(object, methodName);
 		} catch (Exception e) {
 			throw new FormsLibraryException("Could not invoke method " + methodName, e);
 		}
@@ -44,7 +177,7 @@ public class ObjectUtil {
 	 */
 	public static Object getNonNullResult(Object object, String methodName, String message) {
 
-		Object result = invokeMethod(object, cleanMethodPath(methodName));
+		Object result = invokeMethod(object, methodName);
 		if (result == null) {
 			throw new FormsLibraryException(message + " - " + object.getClass().getName() + "." + methodName + " returned null. ");
 		}
@@ -59,22 +192,16 @@ public class ObjectUtil {
 	 */
 	public static String getString(Object object, String methodPath) {
 
-		String path = cleanMethodPath(methodPath);
+		String[] methodsToCall = parseMethodPath(methodPath);
 
-		if (path == null) {
+		if (methodsToCall == null) {
 			return null;
 		}
 
-		String[] methodsToCall = new String[] { path };
-		if (path.indexOf('.') != -1) {
-			methodsToCall = path.split("\\.");
-		}
-
 		for (String methodName : methodsToCall) {
 
 			try {
-				Method m = object.getClass().getMethod(methodName);
-				object = m.invoke(object);
+				object = invokeGetter(object, methodName);
 			} catch (Exception e) {
 				Logger.error(e);
 				object = null;
@@ -94,8 +221,7 @@ public class ObjectUtil {
 	public static Object invokeMethod(Object object, String methodName) {
 
 		try {
-			Method m = object.getClass().getMethod(cleanMethodPath(methodName));
-			return m.invoke(object);
+			return invokeGetter(object, methodName);
 		} catch (Exception e) {
 			throw new FormsLibraryException("Could not invoke method " + methodName, e);
 		}
@@ -109,7 +235,7 @@ public class ObjectUtil {
 
 		try {
 
-			Method m = object.getClass().getMethod(cleanMethodPath(methodName), boolean.class);
+			Method m = getMethod(object.getClass(), methodName, boolean.class);
 			return m.invoke(object, value);
 
 		} catch (Exception e) {
@@ -124,7 +250,7 @@ public class ObjectUtil {
 
 		try {
 
-			Method m = object.getClass().getMethod(cleanMethodPath(methodName), String.class);
+			Method m = getMethod(object.getClass(), methodName, String.class);
 			m.invoke(object, value);
 
 		} catch (Exception e) {
@@ -133,15 +259,39 @@ public class ObjectUtil {
 
 	}
 
+	/**
+	 * Invoke an object method with a single argument of the given type, if the
+	 * object has such a method.
+	 * 
+	 * @return true if the method was invoked, false if it does not exist.
+	 */
+	public static boolean invokeMethodIfExists(Object object, String methodName, Class<?> argType, Object value) {
+
+		Method m;
+		try {
+			m = getMethod(object.getClass(), methodName, argType);
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+
+		try {
+			m.invoke(object, value);
+			return true;
+		} catch (Exception e) {
+			throw new FormsLibraryException("Could not invoke method " + methodName, e);
+		}
+	}
+
 	/**
 	 * Invoke an object method with a specified argument type.
 	 */
 	public static Object invokeMethodWithTypedArg(Object object, String methodName, String argType, Object value) {
 
 		try {
+			String name = cleanMethodPath(methodName);
 			Method[] methods = object.getClass().getDeclaredMethods();
 			for (Method m : methods) {
-				if (m.getName().equals(cleanMethodPath(methodName))) {
+				if (m.getName().equals(name)) {
 					Class<?>[] pTypes = m.getParameterTypes();
 					if (pTypes != null && pTypes.length == 1 && (pTypes[0].toString().equals(argType) || pTypes[0].getName().equals(argType))) {
 						return m.invoke(object, value);
@@ -162,7 +312,7 @@ public class ObjectUtil {
 
 		try {
 
-			Method m = object.getClass().getMethod(cleanMethodPath(methodName), int.class);
+			Method m = getMethod(object.getClass(), methodName, int.class);
 			return m.invoke(object, value);
 
 		} catch (Exception e) {
@@ -177,7 +327,7 @@ public class ObjectUtil {
 
 		try {
 
-			Method m = object.getClass().getMethod(cleanMethodPath(methodName), int.class, int.class);
+			Method m = getMethod(object.getClass(), methodName, int.class, int.class);
 			return m.invoke(object, value1, value2);
 
 		} catch (Exception e) {
@@ -185,26 +335,28 @@ public class ObjectUtil {
 		}
 	}
 
+	/**
+	 * Get a field from a class or one of its super classes.
+	 * 
+	 * @throws FormsLibraryException
+	 *             if the field doesn't exist.
+	 */
 	private static Field getField(Class<?> clazz, String fieldName) {
-		Class<?> tmpClass = clazz;
-		do {
-			for (Field field : tmpClass.getDeclaredFields()) {
-				String candidateName = field.getName();
-				if (!candidateName.equals(fieldName)) {
-					continue;
-				}
-				field.setAccessible(true);
-				return field;
-			}
-			tmpClass = tmpClass.getSuperclass();
-		} while (clazz != null);
-		throw new FormsLibraryException("Unable to get field " + fieldName);
+		Field field = getFieldIfExists(clazz, fieldName);
+		if (field == null) {
+			throw new FormsLibraryException("Unable to get field " + fieldName);
+		}
+		return field;
 	}
 
+	/**
+	 * Get the value of a field. The name can contain multiple levels, e.g.
+	 * db.procActs
+	 */
 	public static Object getField(Object object, String name) {
-		if (name.indexOf(".") == -1) {
+		int separator = name.indexOf('.');
+		if (separator == -1) {
 			Field field = getField(object.getClass(), name);
-			field.setAccessible(true);
 			try {
 				return field.get(object);
 			} catch (IllegalArgumentException | IllegalAccessException e) {
@@ -212,27 +364,33 @@ public class ObjectUtil {
 			}
 
 		}
-		String[] parts = name.split("\\.", 2);
-		return getField(getField(object, parts[0]), parts[1]);
+		return getField(getField(object, name.substring(0, separator)), name.substring(separator + 1));
 
 	}
 
+	/**
+	 * @return names of all the fields declared in the object's class.
+	 */
 	public static List<String> getFieldNames(Object object) {
-		List<String> result = new ArrayList<String>();
-		Field[] declaredFields = object.getClass().getDeclaredFields();
-		for (Field field : declaredFields) {
-			result.add(field.getName());
-		}
-		return result;
+		return new ArrayList<String>(FIELD_NAMES.get(object.getClass()));
 	}
 
+	/**
+	 * Get the value of a field. The name can contain multiple levels, e.g.
+	 * db.procActs
+	 * 
+	 * @return field value or null if the field doesn't exist.
+	 */
 	public static Object getFieldIfExists(Object object, String name) {
-		if (name.indexOf(".") == -1) {
+		if (object == null) {
+			return null;
+		}
+		int separator = name.indexOf('.');
+		if (separator == -1) {
 			Field field = getFieldIfExists(object.getClass(), name);
 			if (field == null) {
 				return null;
 			}
-			field.setAccessible(true);
 			try {
 				return field.get(object);
 			} catch (IllegalArgumentException | IllegalAccessException e) {
@@ -240,24 +398,38 @@ public class ObjectUtil {
 			}
 
 		}
-		String[] parts = name.split("\\.", 2);
-		return getFieldIfExists(getFieldIfExists(object, parts[0]), parts[1]);
+		return getFieldIfExists(getFieldIfExists(object, name.substring(0, separator)), name.substring(separator + 1));
 
 	}
 
+	/**
+	 * Get a field from a class or one of its super classes. Lookups are cached
+	 * per class, including the ones for fields which don't exist. The returned
+	 * field is already made accessible.
+	 * 
+	 * @return field or null if the field doesn't exist.
+	 */
 	private static Field getFieldIfExists(Class<?> clazz, String fieldName) {
+		Map<String, Optional<Field>> fields = FIELDS.get(clazz);
+		Optional<Field> field = fields.get(fieldName);
+		if (field == null) {
+			field = Optional.ofNullable(findField(clazz, fieldName));
+			fields.put(fieldName, field);
+		}
+		return field.orElse(null);
+	}
+
+	private static Field findField(Class<?> clazz, String fieldName) {
 		Class<?> tmpClass = clazz;
-		do {
+		while (tmpClass != null) {
 			for (Field field : tmpClass.getDeclaredFields()) {
-				String candidateName = field.getName();
-				if (!candidateName.equals(fieldName)) {
-					continue;
+				if (field.getName().equals(fieldName)) {
+					field.setAccessible(true);
+					return field;
 				}
-				field.setAccessible(true);
-				return field;
 			}
 			tmpClass = tmpClass.getSuperclass();
-		} while (tmpClass != null);
+		}
 		return null;
 	}
 
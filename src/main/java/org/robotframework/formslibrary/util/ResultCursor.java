@@ -0,0 +1,113 @@
+package org.robotframework.formslibrary.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.robotframework.formslibrary.FormsLibraryException;
+
+/**
+ * Cursors for returning large keyword results one page at a time. Pages are
+ * read when they are fetched, so the full result is never built in memory.
+ *
+ * A page is returned as a map with the rows of the page and a cursor token
+ * for fetching the next page, which is empty when there are no more rows.
+ */
+public class ResultCursor {
+
+	/**
+	 * Maximum number of open cursors. The oldest cursor is closed when more
+	 * cursors are opened.
+	 */
+	private static final int MAX_CURSORS = 20;
+
+	private static final AtomicInteger cursorCount = new AtomicInteger();
+
+	private static final Map<String, ResultCursor> CURSORS = new LinkedHashMap<String, ResultCursor>();
+
+	private final PageReader reader;
+
+	private final int pageSize;
+
+	private int offset;
+
+	/**
+	 * Reads a page of a result.
+	 */
+	public interface PageReader {
+
+		/**
+		 * @return at most size rows starting at the given offset, fewer rows
+		 *         when the end of the result is reached.
+		 */
+		List<?> read(int offset, int size);
+	}
+
+	private ResultCursor(PageReader reader, int pageSize) {
+		this.reader = reader;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Read the first page of a result.
+	 */
+	public static Map<String, Object> open(PageReader reader, int pageSize) {
+		if (pageSize <= 0) {
+			throw new FormsLibraryException("Page size should be positive.");
+		}
+		return new ResultCursor(reader, pageSize).readPage(null);
+	}
+
+	/**
+	 * Read the next page of a result.
+	 */
+	public static Map<String, Object> next(String token) {
+		ResultCursor cursor;
+		synchronized (CURSORS) {
+			cursor = CURSORS.remove(token);
+		}
+		if (cursor == null) {
+			throw new FormsLibraryException("No open result cursor '" + token + "'.");
+		}
+		return cursor.readPage(token);
+	}
+
+	/**
+	 * Close a cursor before all its pages were read.
+	 */
+	public static void close(String token) {
+		synchronized (CURSORS) {
+			CURSORS.remove(token);
+		}
+	}
+
+	private Map<String, Object> readPage(String token) {
+
+		List<?> rows = reader.read(offset, pageSize);
+		offset += rows.size();
+
+		String nextToken = "";
+		if (rows.size() == pageSize) {
+			nextToken = token != null ? token : "cursor-" + cursorCount.incrementAndGet();
+			register(nextToken, this);
+		}
+
+		Map<String, Object> page = new LinkedHashMap<String, Object>();
+		page.put("rows", rows);
+		page.put("cursor", nextToken);
+		return page;
+	}
+
+	private static void register(String token, ResultCursor cursor) {
+		synchronized (CURSORS) {
+			CURSORS.put(token, cursor);
+			Iterator<String> iterator = CURSORS.keySet().iterator();
+			while (CURSORS.size() > MAX_CURSORS && iterator.hasNext()) {
+				Logger.debug("Closing result cursor " + iterator.next() + ".");
+				iterator.remove();
+			}
+		}
+	}
+}
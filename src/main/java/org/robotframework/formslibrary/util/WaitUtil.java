@@ -0,0 +1,65 @@
+package org.robotframework.formslibrary.util;
+
+import java.util.function.BooleanSupplier;
+
+import org.robotframework.formslibrary.FormsLibraryException;
+
+/**
+ * Utility class to wait for a condition inside the agent. The condition is
+ * polled with an exponential backoff, so short waits return quickly while long
+ * waits don't keep the event dispatch thread busy.
+ */
+public class WaitUtil {
+
+	static final long MIN_POLL_INTERVAL = 10;
+
+	static final long MAX_POLL_INTERVAL = 500;
+
+	/**
+	 * Wait until the condition is met. A FormsLibraryException thrown by the
+	 * condition counts as not met.
+	 *
+	 * @param description
+	 *            description of the condition, used in the failure message.
+	 * @param timeout
+	 *            maximum time to wait in ms.
+	 * @throws FormsLibraryException
+	 *             when the condition is still not met after the timeout.
+	 */
+	public static void waitUntil(String description, long timeout, BooleanSupplier condition) {
+
+		long start = System.currentTimeMillis();
+		long interval = MIN_POLL_INTERVAL;
+		int attempts = 0;
+		String lastError = null;
+
+		while (true) {
+			attempts++;
+			try {
+				if (condition.getAsBoolean()) {
+					Logger.debug("Condition '" + description + "' met after " + (System.currentTimeMillis() - start) + " ms and "
+							+ attempts + " attempts.");
+					return;
+				}
+			} catch (FormsLibraryException e) {
+				lastError = e.getMessage();
+			}
+
+			long remaining = start + timeout - System.currentTimeMillis();
+			if (remaining <= 0) {
+				String message = "Timeout after " + timeout + " ms waiting for " + description + ".";
+				if (lastError != null) {
+					message += " Last error: " + lastError;
+				}
+				throw new FormsLibraryException(message);
+			}
+
+			try {
+				Thread.sleep(Math.min(interval, remaining));
+			} catch (InterruptedException e) {
+				throw new FormsLibraryException(e);
+			}
+			interval = Math.min(interval * 2, MAX_POLL_INTERVAL);
+		}
+	}
+}
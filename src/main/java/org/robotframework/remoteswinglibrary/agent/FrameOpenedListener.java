@@ -0,0 +1,109 @@
+package org.robotframework.remoteswinglibrary.agent;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Frame;
+import java.awt.Toolkit;
+import java.awt.event.AWTEventListener;
+import java.awt.event.ContainerEvent;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.robotframework.formslibrary.util.Logger;
+
+import sun.awt.SunToolkit;
+
+/**
+ * Starts the remote server as soon as the Oracle Forms frame is opened,
+ * instead of polling the AppContexts for a window. The listener is registered
+ * on the toolkit, so it also receives the window events when Java Web Start
+ * starts the application in a new AppContext. The server is started on the
+ * event dispatch thread of the AppContext of the frame.
+ *
+ * Other frames, like a Web Start splash, console or launcher frame, can open
+ * first and live in another AppContext. A frame is only accepted once it
+ * contains an Oracle Forms component, which may be added after the frame was
+ * opened.
+ */
+@SuppressWarnings("restriction")
+public class FrameOpenedListener implements AWTEventListener {
+
+    private static final String FORMS_PACKAGE = "oracle.forms.";
+
+    private final Runnable serverThread;
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private FrameOpenedListener(Runnable serverThread) {
+        this.serverThread = serverThread;
+    }
+
+    /**
+     * Start the server thread when the Forms frame is opened, or right away
+     * if it is showing already.
+     */
+    public static void install(Runnable serverThread) {
+        FrameOpenedListener listener = new FrameOpenedListener(serverThread);
+        Toolkit.getDefaultToolkit().addAWTEventListener(listener, AWTEvent.WINDOW_EVENT_MASK | AWTEvent.CONTAINER_EVENT_MASK);
+        for (Frame frame : Frame.getFrames()) {
+            if (frame.isShowing() && containsFormsComponent(frame)) {
+                listener.frameOpened(frame);
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void eventDispatched(AWTEvent event) {
+        if (started.get()) {
+            return;
+        }
+        if (event.getID() == WindowEvent.WINDOW_OPENED && event.getSource() instanceof Frame) {
+            Frame frame = (Frame) event.getSource();
+            if (containsFormsComponent(frame)) {
+                frameOpened(frame);
+            }
+        } else if (event.getID() == ContainerEvent.COMPONENT_ADDED && isFormsComponent(((ContainerEvent) event).getChild())) {
+            Frame frame = getFrame(((ContainerEvent) event).getContainer());
+            if (frame != null && frame.isShowing()) {
+                frameOpened(frame);
+            }
+        }
+    }
+
+    private void frameOpened(Frame frame) {
+        if (started.compareAndSet(false, true)) {
+            Toolkit.getDefaultToolkit().removeAWTEventListener(this);
+            Logger.debug("Forms frame '" + frame.getTitle() + "' opened, starting remote server.");
+            SunToolkit.invokeLaterOnAppContext(SunToolkit.targetToAppContext(frame), serverThread);
+        }
+    }
+
+    private static boolean isFormsComponent(Component component) {
+        return component != null && component.getClass().getName().startsWith(FORMS_PACKAGE);
+    }
+
+    private static boolean containsFormsComponent(Component component) {
+        if (isFormsComponent(component)) {
+            return true;
+        }
+        if (component instanceof Container) {
+            for (Component child : ((Container) component).getComponents()) {
+                if (containsFormsComponent(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Frame getFrame(Component component) {
+        for (Component c = component; c != null; c = c.getParent()) {
+            if (c instanceof Frame) {
+                return (Frame) c;
+            }
+        }
+        return null;
+    }
+}
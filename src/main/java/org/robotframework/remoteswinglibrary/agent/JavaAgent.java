@@ -12,6 +12,7 @@ public class JavaAgent {
     public static void premain(String agentArgument, Instrumentation instrumentation) {
 
         Logger.info("\nStarting formslib JavaAgent...");
+        ServerThread.setAgentStartTime(System.currentTimeMillis());
 
         try {
             String[] args = agentArgument.split(":");
@@ -19,18 +20,21 @@ public class JavaAgent {
             int port = getRemoteSwingLibraryPort(args[1]);
             boolean debug = true;
             boolean closeSecurityDialogs = Arrays.asList(args).contains("CLOSE_SECURITY_DIALOGS");
+            ServerThread.setJsonTransportEnabled(Arrays.asList(args).contains("JSON"));
             int apport = 0;
             for (String arg : args)
                 if (arg.startsWith("APPORT="))
                     apport = Integer.parseInt(arg.split("=")[1]);
 
-            Thread findAppContext = new Thread(new FindAppContextWithWindow(host, port, apport, debug, closeSecurityDialogs));
-            findAppContext.setDaemon(true);
-            findAppContext.start();
-            // Sleep to ensure that findAppContext daemon thread is kept alive
-            // until the
-            // application is started.
-            Thread.sleep(1000);
+            if (closeSecurityDialogs) {
+                // security dialogs are only closed while polling for the
+                // application window
+                Thread findAppContext = new Thread(new FindAppContextWithWindow(host, port, apport, debug, closeSecurityDialogs));
+                findAppContext.setDaemon(true);
+                findAppContext.start();
+            } else {
+                FrameOpenedListener.install(new ServerThread(new RobotConnection(host, port), apport, debug));
+            }
         } catch (Throwable t) {
             Logger.error(t);
         }
@@ -20,11 +20,15 @@ import java.io.IOException;
 import java.util.Map;
 
 import org.robotframework.formslibrary.FormsLibrary;
+import org.robotframework.formslibrary.remote.JsonRemoteServer;
 import org.robotframework.remoteserver.RemoteServer;
 import org.robotframework.remoteswinglibrary.remote.DaemonRemoteServer;
 
 
 public class ServerThread implements Runnable {
+    private static boolean jsonTransport = false;
+    private static long agentStartTime = 0;
+
     int apport;
     boolean debug;
     RobotConnection robotConnection;
@@ -35,16 +39,36 @@ public class ServerThread implements Runnable {
         this.debug = debug;
     }
 
+    /**
+     * Serve the library over the JSON transport as well, next to XML-RPC.
+     */
+    public static void setJsonTransportEnabled(boolean enabled) {
+        jsonTransport = enabled;
+    }
+
+    /**
+     * Set the time at which the agent was started, to report the time it took
+     * until the server was ready.
+     */
+    public static void setAgentStartTime(long time) {
+        agentStartTime = time;
+    }
+
     public void run()  {
         try {
+            FormsLibrary library = new FormsLibrary();
             RemoteServer server = new DaemonRemoteServer();
-            server.putLibrary("/RPC2", new FormsLibrary());
+            server.putLibrary("/RPC2", library);
             server.putLibrary("/services", new ServicesLibrary());
             server.setPort(apport);
             server.setAllowStop(true);
             server.start();
             Integer actualPort = server.getLocalPort();
-            notifyPort(actualPort);
+            Integer jsonPort = null;
+            if (jsonTransport) {
+                jsonPort = new JsonRemoteServer(library).start(0);
+            }
+            notifyPort(actualPort, jsonPort);
         } catch (Exception e) {
             if (debug) {
                 e.printStackTrace();
@@ -54,9 +78,16 @@ public class ServerThread implements Runnable {
         }
     }
 
-    private void notifyPort(final Integer portToNotify) throws IOException {
+    private void notifyPort(final Integer portToNotify, final Integer jsonPort) throws IOException {
+        String port = portToNotify.toString();
+        if (jsonPort != null) {
+            port += ";json=" + jsonPort;
+        }
+        if (agentStartTime > 0) {
+            port += ";ready=" + (System.currentTimeMillis() - agentStartTime);
+        }
         robotConnection.connect();
-        robotConnection.send("PORT:" + portToNotify.toString() + ":" + getName());
+        robotConnection.send("PORT:" + port + ":" + getName());
         robotConnection.close();
     }
 
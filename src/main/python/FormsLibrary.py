@@ -13,35 +13,45 @@
 #  limitations under the License.
 
 import FormsLibrary_Keywords
+import base64
 from contextlib import contextmanager
+import gzip
 import inspect
+import io
+import json
 import math
 import os
+import re
+import socket
+import struct
 import sys
 import tempfile
 import threading
 import time
 import traceback
+from xml.parsers.expat import ExpatError
 
 
 IS_PYTHON3 = sys.version_info[0] >= 3
 if IS_PYTHON3:
     import socketserver as SocketServer
-    from xmlrpc.client import ProtocolError
+    from http.client import HTTPConnection, HTTPException
+    from xmlrpc.client import Fault, ProtocolError, ServerProxy, Transport
 else:
     import SocketServer
-    from xmlrpclib import ProtocolError
+    from httplib import HTTPConnection, HTTPException
+    from xmlrpclib import Fault, ProtocolError, ServerProxy, Transport
 import uuid
 
 from robot.errors import HandlerExecutionFailed, TimeoutError
 from robot.libraries.BuiltIn import BuiltIn
 from robot.libraries.Process import Process
-from robot.libraries.Remote import Remote
+from robot.libraries.Remote import ArgumentCoercer, Remote, RemoteError, RemoteResult
 from robot.running import EXECUTION_CONTEXTS
 from robot.running.namespace import IMPORTER
 from robot.running.testlibraries import TestLibrary
 from robot.libraries.BuiltIn import BuiltIn, run_keyword_variant
-from robot.utils import timestr_to_secs, get_link_path
+from robot.utils import is_truthy, timestr_to_secs, get_link_path
 from robotbackgroundlogger import BackgroundLogger
 from robot.api import logger as defaultLogger
 
@@ -86,15 +96,104 @@ class AgentList(object):
 
 REMOTE_AGENTS_LIST = AgentList()
 
+# JSON transport ports announced by the agents, by XML-RPC address
+JSON_PORTS = {}
+
+
+class TransportStatistics(object):
+    """Round trip times of the keyword calls per transport and, when the agent
+    reports how long the keyword ran, the transport overhead of the calls."""
+
+    MAX_SAMPLES = 10000
+
+    def __init__(self):
+        self._round_trips = {}
+        self._overheads = {}
+        self._lock = threading.Lock()
+
+    def record(self, transport, round_trip, duration=None):
+        with self._lock:
+            self._add(self._round_trips, transport, round_trip)
+            if duration is not None:
+                self._add(self._overheads, transport, max(round_trip - duration, 0.0))
+
+    def _add(self, samples, transport, value):
+        values = samples.setdefault(transport, [])
+        values.append(value)
+        if len(values) > self.MAX_SAMPLES:
+            del values[0]
+
+    def report(self):
+        lines = []
+        with self._lock:
+            for transport in sorted(self._round_trips):
+                lines.append('%s round trip: %s' % (transport, self._percentiles(self._round_trips[transport])))
+                if transport in self._overheads:
+                    lines.append('%s overhead: %s' % (transport, self._percentiles(self._overheads[transport])))
+        return lines
+
+    def clear(self):
+        with self._lock:
+            self._round_trips.clear()
+            self._overheads.clear()
+
+    @staticmethod
+    def _percentiles(values):
+        values = sorted(values)
+        def percentile(p):
+            return values[min(len(values) - 1, int(len(values) * p))]
+        return 'calls %d, p50 %.2f ms, p99 %.2f ms, max %.2f ms' % (len(values), percentile(0.5), percentile(0.99),
+                                                                   values[-1])
+
+
+TRANSPORT_STATISTICS = TransportStatistics()
+
+COMPRESSED_RESULT_PREFIX = 'formslibrary-gzip:'
+
+
+def decompress_result(result):
+    """Return the original value of a result which the agent compressed
+    because it was larger than the result compression threshold."""
+    if not isinstance(result, str if IS_PYTHON3 else basestring) or not result.startswith(COMPRESSED_RESULT_PREFIX):
+        return result
+    data = base64.b64decode(result[len(COMPRESSED_RESULT_PREFIX):])
+    with gzip.GzipFile(fileobj=io.BytesIO(data)) as compressed:
+        return json.loads(compressed.read().decode('UTF-8'))
+
+# named argument with which the XML-RPC client asks the agent to append the
+# keyword duration to the output, as a last line starting with DURATION_PREFIX
+REPORT_DURATION_ARGUMENT = 'formslibrary-report-duration'
+DURATION_PREFIX = 'formslibrary-duration:'
+DURATION_PATTERN = re.compile(r'\n%s([0-9.]+)$' % DURATION_PREFIX)
+
+
+def split_duration(output):
+    """Remove the keyword duration which the agent appends to the output of
+    the keywords when asked to. Returns the output and the duration in ms, or
+    None when the agent did not report it."""
+    match = DURATION_PATTERN.search(output)
+    if not match:
+        return output, None
+    return output[:match.start()], float(match.group(1))
+
+
 class SimpleServer(SocketServer.StreamRequestHandler):
 
     def handle(self):
         data = self.rfile.readline()[:-1]
         fields = data.decode().split(':')
         if fields[0] == 'PORT':
-            port = fields[1]
+            # the port can be followed by ;json=<port> for the JSON transport
+            # and ;ready=<ms> with the time the agent needed to start the server
+            ports = fields[1].split(';')
+            port = ports[0]
             name = ':'.join(fields[2:])
             address = ':'.join([self.client_address[0], port])
+            for option in ports[1:]:
+                if option.startswith('json='):
+                    JSON_PORTS[address] = option[len('json='):]
+                elif option.startswith('ready='):
+                    logger.info('Java formslibrary agent "%s" ready after %s ms' % (name, option[len('ready='):]))
             logger.debug('Registered java formslibrary agent "%s" at %s' % \
                          (name, address))
             REMOTE_AGENTS_LIST.append(address, name)
@@ -109,6 +208,214 @@ class InvalidURLException(Exception):
     pass
 
 
+class _NoDelayHTTPConnection(HTTPConnection):
+
+    def connect(self):
+        HTTPConnection.connect(self)
+        self.sock.setsockopt(socket.IPPROTO_TCP, socket.TCP_NODELAY, 1)
+
+
+class _CountingResponse(object):
+    """HTTP response counting the bytes of the body read from it."""
+
+    def __init__(self, response):
+        self._response = response
+        self.size = 0
+
+    def __getattr__(self, name):
+        return getattr(self._response, name)
+
+    def read(self, *args):
+        data = self._response.read(*args)
+        self.size += len(data)
+        return data
+
+
+class _KeepAliveTransport(Transport):
+    """XML-RPC transport keeping its HTTP/1.1 connection open between calls,
+    with TCP_NODELAY so small requests are sent right away.
+
+    The sizes of the last request and response body are kept, as sent and
+    received on the connection."""
+
+    request_size = 0
+    response_size = 0
+
+    def send_content(self, connection, request_body):
+        self.request_size = len(request_body)
+        return Transport.send_content(self, connection, request_body)
+
+    def parse_response(self, response):
+        response = _CountingResponse(response)
+        try:
+            return Transport.parse_response(self, response)
+        finally:
+            self.response_size = response.size
+
+    def make_connection(self, host):
+        if self._connection and host == self._connection[0]:
+            return self._connection[1]
+        chost, self._extra_headers, x509 = self.get_host_info(host)
+        self._connection = host, _NoDelayHTTPConnection(chost)
+        return self._connection[1]
+
+
+class KeepAliveRemote(object):
+    """Runs keywords over XML-RPC using a pool of keep-alive connections, instead
+    of a new connection per call. All other calls go to the Robot Framework
+    remote library.
+
+    `last_payload_size` is the size of the request and response body of the
+    last keyword call."""
+
+    def __init__(self, remote, uri):
+        self._remote = remote
+        self._uri = uri if '://' in uri else 'http://' + uri
+        self._pool = []
+        self._lock = threading.Lock()
+        self._coercer = ArgumentCoercer()
+        self.last_payload_size = None
+
+    def __getattr__(self, name):
+        return getattr(self._remote, name)
+
+    def run_keyword(self, name, args, kwargs):
+        args = self._coercer.coerce(args)
+        kwargs = self._coercer.coerce(dict(kwargs or {}))
+        kwargs[REPORT_DURATION_ARGUMENT] = True
+        proxy, transport = self._acquire()
+        start = time.time()
+        try:
+            result = proxy.run_keyword(name, args, kwargs)
+        except Fault as err:
+            self._release(proxy, transport)
+            raise RuntimeError(err.faultString)
+        except (socket.error, HTTPException, ProtocolError) as err:
+            raise RuntimeError('Connection to remote server broken: %s' % err)
+        except ExpatError as err:
+            raise RuntimeError('Processing XML-RPC return value failed. Most often this happens when the return '
+                               'value contains characters that are not valid in XML. Original error was: '
+                               'ExpatError: %s' % err)
+        self._release(proxy, transport)
+        round_trip = (time.time() - start) * 1000
+        self.last_payload_size = transport.request_size + transport.response_size
+        result = RemoteResult(result)
+        output, duration = split_duration(result.output)
+        TRANSPORT_STATISTICS.record('XML-RPC', round_trip, duration)
+        sys.stdout.write(output)
+        if result.status != 'PASS':
+            raise RemoteError(result.error, result.traceback, result.fatal, result.continuable)
+        return result.return_
+
+    def _acquire(self):
+        with self._lock:
+            if self._pool:
+                return self._pool.pop()
+        transport = _KeepAliveTransport()
+        return ServerProxy(self._uri, transport=transport, encoding='UTF-8', allow_none=True), transport
+
+    def _release(self, proxy, transport):
+        with self._lock:
+            self._pool.append((proxy, transport))
+
+
+class JsonRemote(object):
+    """Runs keywords over the JSON transport of the agent: every message is a
+    4 byte big-endian length followed by a UTF-8 JSON document.
+
+    All other calls go to the XML-RPC remote. Keywords also fall back to
+    XML-RPC when the JSON connection cannot be opened. A connection which
+    breaks after a keyword was sent is reported as an error instead, since the
+    keyword may already have run.
+
+    The connection is kept open between calls and uses TCP_NODELAY.
+
+    `last_payload_size` is the size of the request and response message of
+    the last keyword call, including the length prefixes.
+    """
+
+    def __init__(self, remote, host, port):
+        self._remote = remote
+        self._address = (host, int(port))
+        self._socket = None
+        self._lock = threading.Lock()
+        self.last_payload_size = None
+
+    def __getattr__(self, name):
+        return getattr(self._remote, name)
+
+    def run_keyword(self, name, args, kwargs):
+        request = {'name': name, 'args': self._coerce(list(args)), 'kwargs': self._coerce(dict(kwargs or {}))}
+        with self._lock:
+            try:
+                self._connect()
+            except socket.error as e:
+                logger.debug('JSON transport not available (%s), using XML-RPC' % e)
+                self.last_payload_size = None
+                return self._remote.run_keyword(name, args, kwargs)
+            start = time.time()
+            try:
+                response = self._call(request)
+            except (socket.error, ValueError, EOFError) as e:
+                self._close()
+                raise RuntimeError('Connection to remote server broken: %s' % e)
+        TRANSPORT_STATISTICS.record('JSON', (time.time() - start) * 1000, response.get('duration'))
+        result = RemoteResult(response)
+        sys.stdout.write(result.output)
+        if result.status != 'PASS':
+            raise RemoteError(result.error, result.traceback, result.fatal, result.continuable)
+        return result.return_
+
+    def _connect(self):
+        if self._socket is None:
+            self._socket = socket.create_connection(self._address)
+            self._socket.setsockopt(socket.IPPROTO_TCP, socket.TCP_NODELAY, 1)
+
+    def _close(self):
+        if self._socket is not None:
+            try:
+                self._socket.close()
+            except socket.error:
+                pass
+            self._socket = None
+
+    def _call(self, request):
+        frame = self._frame(request)
+        self._socket.sendall(frame)
+        length = struct.unpack('>I', self._receive(4))[0]
+        response = json.loads(self._receive(length).decode('utf-8'))
+        self.last_payload_size = len(frame) + 4 + length
+        return response
+
+    @staticmethod
+    def _frame(message):
+        data = json.dumps(message).encode('utf-8')
+        return struct.pack('>I', len(data)) + data
+
+    def _receive(self, size):
+        chunks = []
+        while size > 0:
+            chunk = self._socket.recv(size)
+            if not chunk:
+                raise EOFError('connection closed by agent')
+            chunks.append(chunk)
+            size -= len(chunk)
+        return b''.join(chunks)
+
+    def _coerce(self, value):
+        if value is None:
+            return ''
+        if isinstance(value, (bool, int, float)) or isinstance(value, type(u'')):
+            return value
+        if isinstance(value, bytes):
+            return value.decode('utf-8', 'replace')
+        if isinstance(value, (list, tuple)):
+            return [self._coerce(item) for item in value]
+        if isinstance(value, dict):
+            return dict((str(key), self._coerce(item)) for key, item in value.items())
+        return str(value)
+
+
 class _RobotImporterWrapper(object):
     def remove_library(self, name, args):
         lib = TestLibrary(name, args, None, create_handlers=False)
@@ -189,6 +496,8 @@ class FormsLibrary(object):
     - [#System Exit|System Exit]
     - [#Switch To Application|Switch To Application]
     - [#Connect To Application|Connect To Application]
+    - [#Benchmark Transport|Benchmark Transport]
+    - [#Log Transport Statistics|Log Transport Statistics]
 
     FormsLibrary also introduces two global variables that can be used during testing:
     - ${REMOTESWINGLIBRARYPATH} the location of the formslibrary jar file.
@@ -222,7 +531,7 @@ class FormsLibrary(object):
     ROBOT_LIBRARY_SCOPE = 'GLOBAL'
     KEYWORDS = ['system_exit', 'start_application', 'application_started', 'switch_to_application',
                 'ensure_application_should_close', 'log_java_system_properties', 'set_java_tool_options',
-                'connect_to_application']
+                'connect_to_application', 'benchmark_transport', 'log_transport_statistics']
     REMOTES = {}
     CURRENT = None
     PROCESS = Process()
@@ -231,11 +540,12 @@ class FormsLibrary(object):
     PORT = None
     APHOST = None
     APPORT = None
+    TRANSPORT = 'xmlrpc'
     AGENT_PATH = os.path.abspath(os.path.dirname(__file__))
     _output_dir = ''
 
     def __init__(self, port=None, aphost='127.0.0.1', apport=None, debug=False,
-                 close_security_dialogs=False, __reload=False, agentlib_port=8000):
+                 close_security_dialogs=False, __reload=False, agentlib_port=8000, transport=None):
         """
         *port*: optional port for the server receiving connections from remote agents
 
@@ -248,6 +558,10 @@ class FormsLibrary(object):
 
         *close_security_dialogs*: optional flag for automatic security dialogs closing (set to TRUE to enable)
 
+        *transport*: optional protocol for running keywords, `xmlrpc` (default) or `json`. With `json` the agent
+        also serves a length-prefixed JSON transport, which is used for running keywords. XML-RPC is used for
+        everything else and when the JSON transport is not available.
+
         NOTE! with special value 'TEST' starts a test application for documentation generation
         purposes `python -m robot.libdoc FormsLibrary::TEST FormsLibrary.html`
 
@@ -262,6 +576,7 @@ class FormsLibrary(object):
             global REMOTE_AGENTS_LIST
             REMOTE_AGENTS_LIST = AgentList()
             FormsLibrary.PORT = None
+            FormsLibrary.TRANSPORT = (transport or 'xmlrpc').lower()
         self.ROBOT_NAMESPACE_BRIDGE.set_args(port, aphost, apport, debug, close_security_dialogs)
         if FormsLibrary.PORT is None:
             FormsLibrary.PORT = self._start_port_server(0 if port == 'TEST' else port or 0)
@@ -297,6 +612,8 @@ class FormsLibrary(object):
             agent_command += ':DEBUG'
         if close_security_dialogs:
             agent_command += ':CLOSE_SECURITY_DIALOGS'
+        if FormsLibrary.TRANSPORT == 'json':
+            agent_command += ':JSON'
         self._agent_command = agent_command
         try:
             BuiltIn().set_global_variable('\${REMOTESWINGLIBRARYPATH}', self._escape_path(FormsLibrary.AGENT_PATH))
@@ -436,7 +753,10 @@ class FormsLibrary(object):
         logger.info('connected to started application at %s' % url)
 
     def _initialize_remote_libraries(self, alias, url):
-        swinglibrary = Remote(url)
+        swinglibrary = KeepAliveRemote(Remote(url), url)
+        if FormsLibrary.TRANSPORT == 'json' and url in JSON_PORTS:
+            swinglibrary = JsonRemote(swinglibrary, url.split(':')[0], JSON_PORTS[url])
+            logger.debug('using JSON transport on port %s' % JSON_PORTS[url])
         logger.debug('remote swinglibrary instantiated')
         services = Remote(url + '/services')
         logger.debug('remote services instantiated')
@@ -540,6 +860,51 @@ class FormsLibrary(object):
         logger.info(env)
         return env
 
+    def benchmark_transport(self, keyword='getCurrentWindowTitle', iterations=100, *args, **kwargs):
+        """Measures the round trip latency and payload size of running `keyword` with the given arguments
+        `iterations` times over XML-RPC and, when the JSON transport is in use, over JSON.
+
+        Payload sizes are the request and response bodies of the last call as sent and received on the
+        connection, without HTTP headers.
+
+        Example:
+        | Benchmark Transport | getTextFieldValue | 50 | username |
+        """
+        iterations = int(iterations)
+        remote = self.current
+        xmlrpc_remote = remote._remote if isinstance(remote, JsonRemote) else remote
+        transports = [('XML-RPC', xmlrpc_remote)]
+        if isinstance(remote, JsonRemote):
+            transports.append(('JSON', remote))
+        results = []
+        for transport, transport_remote in transports:
+            timings = []
+            for _ in range(iterations):
+                start = time.time()
+                transport_remote.run_keyword(keyword, list(args), kwargs)
+                timings.append((time.time() - start) * 1000)
+            timings.sort()
+            payload_size = transport_remote.last_payload_size
+            line = '%s: mean %.2f ms, p50 %.2f ms, max %.2f ms, payload %s bytes' % (
+                transport, sum(timings) / len(timings), timings[len(timings) // 2], timings[-1],
+                payload_size if payload_size is not None else 'unknown')
+            logger.info(line)
+            results.append(line)
+        return results
+
+    def log_transport_statistics(self, reset=False):
+        """Logs the p50 and p99 round trip times of the keyword calls to the application, per transport.
+
+        The overhead is logged as well: the round trip time minus the time the agent spent running the
+        keyword. With `reset` the statistics are cleared after logging.
+        """
+        lines = TRANSPORT_STATISTICS.report()
+        for line in lines:
+            logger.info(line)
+        if is_truthy(reset):
+            TRANSPORT_STATISTICS.clear()
+        return lines
+
     def get_keyword_names(self):
         # get_keyword names takes argument `attempts` which makes it
         # wait 0,1,2,3,4,...,attempts-1 seconds in those attempts
@@ -595,6 +960,6 @@ class FormsLibrary(object):
         if name in FormsLibrary.KEYWORDS:
             return getattr(self, name)(*arguments, **kwargs)
         if self.current:
-            return self.current.run_keyword(name, arguments, kwargs)
+            return decompress_result(self.current.run_keyword(name, arguments, kwargs))
         if name in FormsLibrary_Keywords.keywords:
             raise Exception("To use this keyword, you need to connect to the application first.")